@@ -0,0 +1,54 @@
+package com.example.ticketmanagement.benchmark;
+
+import com.example.ticketmanagement.TicketManagementApplication;
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.request.TicketRequest;
+import com.example.ticketmanagement.service.TicketService;
+import com.example.ticketmanagement.service.UserService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application on the in-memory benchmark database and seeds it with users and tickets
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return application().run();
+    }
+
+    static SpringApplication application() {
+        SpringApplication application = new SpringApplication(TicketManagementApplication.class);
+        application.setAdditionalProfiles("benchmark", "dev");
+        return application;
+    }
+
+    static User createUser(ConfigurableApplicationContext context, String name, Role role) {
+        return context.getBean(UserService.class).addUser(new User(null, name, name + "@example.com", "password", role));
+    }
+
+    static void seedTickets(ConfigurableApplicationContext context, User employee, int count) {
+        TicketService ticketService = context.getBean(TicketService.class);
+        List<TicketRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(ticketRequest(i));
+        }
+        ticketService.createTickets(requests, employee.getId());
+    }
+
+    static TicketRequest ticketRequest(int i) {
+        TicketRequest request = new TicketRequest();
+        request.setTitle("VPN drops every " + i + " minutes");
+        request.setDescription("Connection resets with ERR_CONN_RESET after " + i + " minutes on the office network");
+        request.setPriority(Priority.values()[i % Priority.values().length]);
+        request.setCategory(Category.values()[i % Category.values().length]);
+        return request;
+    }
+}
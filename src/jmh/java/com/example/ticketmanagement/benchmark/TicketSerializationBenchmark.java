@@ -0,0 +1,68 @@
+package com.example.ticketmanagement.benchmark;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of turning a page of tickets into the JSON the list endpoints return.
+// Comments are not part of it; they are served separately by the paged comments endpoint.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int tickets;
+
+    // Configured like the MVC converter (Java time support, ISO dates)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Ticket> page;
+
+    @Setup
+    public void setUp() {
+        User employee = new User(1L, "employee", "employee@example.com", "hash", Role.Employee);
+        page = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setId((long) i);
+            ticket.setTitle("VPN drops every " + i + " minutes");
+            ticket.setDescription("Connection resets with ERR_CONN_RESET on the office network");
+            ticket.setPriority(Priority.values()[i % Priority.values().length]);
+            ticket.setCategory(Category.values()[i % Category.values().length]);
+            ticket.setStatus(Status.NEW);
+            ticket.setCreationDate(LocalDateTime.now());
+            ticket.setCreatedBy(employee);
+            page.add(ticket);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeTicketPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ticketmanagement.benchmark;
+
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.request.TicketSearchCriteria;
+import com.example.ticketmanagement.service.AuditLogService;
+import com.example.ticketmanagement.service.CommentService;
+import com.example.ticketmanagement.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Throughput of the service-layer hot paths against the in-memory database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TicketServiceBenchmark {
+
+    private static final int SEEDED_TICKETS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private CommentService commentService;
+    private AuditLogService auditLogService;
+    private User employee;
+    private User support;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final TicketSearchCriteria newTickets = new TicketSearchCriteria();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        ticketService = context.getBean(TicketService.class);
+        commentService = context.getBean(CommentService.class);
+        auditLogService = context.getBean(AuditLogService.class);
+        employee = BenchmarkApplication.createUser(context, "bench-employee", Role.Employee);
+        support = BenchmarkApplication.createUser(context, "bench-support", Role.ITSupport);
+        BenchmarkApplication.seedTickets(context, employee, SEEDED_TICKETS);
+        newTickets.setStatus(List.of(Status.NEW));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Ticket createTicket() {
+        return ticketService.createTicket(BenchmarkApplication.ticketRequest(sequence.incrementAndGet()), employee.getId());
+    }
+
+    @Benchmark
+    public List<Ticket> getTickets() {
+        return ticketService.getTickets(newTickets, null, null, TicketService.DEFAULT_PAGE_SIZE, Sort.unsorted());
+    }
+
+    @Benchmark
+    public Ticket updateTicketStatus() {
+        // Flip a seeded ticket between NEW and IN_PROGRESS so every call is a real transition
+        int i = sequence.incrementAndGet();
+        long ticketId = 1 + (i % SEEDED_TICKETS);
+        Status newStatus = (i / SEEDED_TICKETS) % 2 == 0 ? Status.IN_PROGRESS : Status.NEW;
+        return ticketService.updateTicketStatus(ticketId, newStatus, support.getId());
+    }
+
+    @Benchmark
+    public Object addComment() {
+        long ticketId = 1 + (sequence.incrementAndGet() % SEEDED_TICKETS);
+        return commentService.addComment(ticketId, "Rebooted the VPN concentrator", support.getId());
+    }
+
+    @Benchmark
+    public void logStatusChange() {
+        long ticketId = 1 + (sequence.incrementAndGet() % SEEDED_TICKETS);
+        auditLogService.logStatusChange(ticketId, support, Status.NEW, Status.IN_PROGRESS);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ticketmanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches are Caffeine-backed; names, size bound and TTL live in application.properties (spring.cache.*)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_NAME = "usersByName";
+}
@@ -0,0 +1,110 @@
+package com.example.ticketmanagement.config;
+
+import com.example.ticketmanagement.model.ReplicationHeartbeat;
+import com.example.ticketmanagement.repository.ReplicationHeartbeatRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Measures replica lag with a heartbeat row: the primary's copy is stamped every interval and each replica's
+// copy is read back, so lag is how old the replica's stamp is. Works on any database without replication
+// privileges. Replicas that are too far behind or unreachable are taken out of rotation until they recover.
+public class ReplicaHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+    private static final String READ_HEARTBEAT = "select beat_at from replication_heartbeat where id = " + ReplicationHeartbeat.ID;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicationHeartbeatRepository heartbeatRepository;
+    private final Duration maxLag;
+    private final Map<String, JdbcTemplate> replicas = new ConcurrentHashMap<>();
+    // Last measured lag per replica in milliseconds, -1 when it could not be read
+    private final Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+
+    public ReplicaHealthMonitor(ReplicaRoutingDataSource routingDataSource,
+                                ReplicaProperties replicaProperties,
+                                ReplicationHeartbeatRepository heartbeatRepository,
+                                MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.heartbeatRepository = heartbeatRepository;
+        this.maxLag = replicaProperties.getMaxLag();
+        for (Map.Entry<String, HikariDataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            String name = replica.getKey();
+            replicas.put(name, new JdbcTemplate(replica.getValue()));
+            AtomicLong lag = new AtomicLong(-1);
+            lagMillis.put(name, lag);
+            healthy.put(name, Boolean.FALSE);
+            Gauge.builder("datasource.replica.lag", lag, AtomicLong::get)
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-interval-ms:1000}")
+    public void check() {
+        beat();
+        LocalDateTime now = LocalDateTime.now();
+        List<String> inRotation = new ArrayList<>();
+        for (String name : routingDataSource.getReplicas().keySet()) {
+            boolean ok = measure(name, now);
+            if (healthy.put(name, ok) != ok) {
+                if (ok) {
+                    logger.info("Replica {} in rotation, lag {} ms", name, lagMillis.get(name).get());
+                } else {
+                    logger.warn("Replica {} taken out of rotation, lag {} ms", name, lagMillis.get(name).get());
+                }
+            }
+            if (ok) {
+                inRotation.add(name);
+            }
+        }
+        routingDataSource.setHealthyReplicas(inRotation);
+    }
+
+    private void beat() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (heartbeatRepository.beat(now) == 0) {
+                heartbeatRepository.save(new ReplicationHeartbeat(ReplicationHeartbeat.ID, now));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted the row first; its stamp is as good as ours
+        } catch (DataAccessException e) {
+            logger.warn("Could not write replication heartbeat: {}", e.getMessage());
+        }
+    }
+
+    private boolean measure(String name, LocalDateTime now) {
+        try {
+            LocalDateTime beatAt = replicas.get(name).queryForObject(READ_HEARTBEAT, LocalDateTime.class);
+            long lag = beatAt == null ? -1 : Math.max(Duration.between(beatAt, now).toMillis(), 0);
+            lagMillis.get(name).set(lag);
+            return maxLag.isZero() || maxLag.isNegative() || (lag >= 0 && lag <= maxLag.toMillis());
+        } catch (EmptyResultDataAccessException | BadSqlGrammarException e) {
+            // No heartbeat replicated yet: lag is unknown, which only matters when it is being checked
+            lagMillis.get(name).set(-1);
+            return maxLag.isZero() || maxLag.isNegative();
+        } catch (DataAccessException e) {
+            lagMillis.get(name).set(-1);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ticketmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas for @Transactional(readOnly = true) service methods (datasource.replica.urls[0]=jdbc:mysql://...).
+// Without urls every query goes to spring.datasource as before.
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaProperties {
+
+    private List<String> urls = new ArrayList<>();
+
+    // Credentials default to the primary's
+    private String username;
+    private String password;
+
+    private int poolSize = 10;
+
+    // Replicas further behind than this are skipped until they catch up; zero disables the lag check
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How long a user's reads stay on the primary after they commit a write
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,116 @@
+package com.example.ticketmanagement.config;
+
+import com.example.ticketmanagement.model.MyUserDetails;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Picks the database for each transaction when its first statement runs (behind a LazyConnectionDataSourceProxy).
+// Read-only transactions opened by service methods go round-robin to a replica that is within the lag limit;
+// everything else goes to the primary. That includes Spring Data's default read-only transactions around
+// single repository calls, since write paths use those to read state they are about to update.
+// A user who just committed a write keeps reading from the primary for a short window.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+    private static final String SERVICE_PACKAGE = "com.example.ticketmanagement.service.";
+
+    private final Map<String, HikariDataSource> replicas;
+    private volatile List<String> healthyReplicas = List.of(); // none until the first health check
+    private final AtomicInteger next = new AtomicInteger();
+    // Users who committed a write within the read-your-writes window
+    private final Cache<Long, Boolean> recentWriters;
+    private final Counter replicaReads;
+    private final Counter laggingFallbacks;
+    private final Counter readYourWritesFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas,
+                                    Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        this.replicaReads = meterRegistry.counter("datasource.reads", "target", "replica", "reason", "read-only");
+        this.laggingFallbacks = meterRegistry.counter("datasource.reads", "target", "primary", "reason", "replica-lag");
+        this.readYourWritesFallbacks = meterRegistry.counter("datasource.reads", "target", "primary", "reason", "read-your-writes");
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    // Replicas currently eligible for reads, in configuration order; set by ReplicaHealthMonitor
+    public void setHealthyReplicas(List<String> healthyReplicas) {
+        this.healthyReplicas = List.copyOf(healthyReplicas);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCommit();
+            return PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null || !transactionName.startsWith(SERVICE_PACKAGE)) {
+            return PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            readYourWritesFallbacks.increment();
+            return PRIMARY;
+        }
+        List<String> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            laggingFallbacks.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private void rememberWriterOnCommit() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof MyUserDetails userDetails) {
+            return userDetails.getUser().getId();
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
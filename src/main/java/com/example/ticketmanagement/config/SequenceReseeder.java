@@ -0,0 +1,60 @@
+package com.example.ticketmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Ticket, audit log and outbox ids come from pooled sequences. MySQL has no sequences, so Hibernate emulates
+// each one with a <table>_seq table whose next_val starts at 1 when ddl-auto creates it. On a database whose
+// rows were inserted with IDENTITY ids, that would hand out ids that already exist. Before any insert, each
+// emulated sequence is raised so the next allocated block starts above max(id); it is never lowered.
+// Native sequences (H2) and fresh databases are left alone.
+@Component
+public class SequenceReseeder implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceReseeder.class);
+
+    // Entity table -> sequence table, as named by the default physical naming strategy
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "ticket", "ticket_seq",
+            "audit_log", "audit_log_seq",
+            "outbox_event", "outbox_event_seq");
+
+    // Hibernate's default allocationSize: a fetched next_val of n hands out n - 49 .. n
+    private static final long ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceReseeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach(this::reseed);
+    }
+
+    private void reseed(String table, String sequence) {
+        Long nextVal;
+        try {
+            nextVal = jdbcTemplate.queryForObject("select max(next_val) from " + sequence, Long.class);
+        } catch (DataAccessException e) {
+            return; // not a table: a native sequence, so ids were never IDENTITY-generated here
+        }
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        if (maxId == null || nextVal == null) {
+            return;
+        }
+        long floor = maxId + ALLOCATION_SIZE;
+        // Conditional so a concurrently starting node can't move it backwards
+        int updated = jdbcTemplate.update("update " + sequence + " set next_val = ? where next_val < ?", floor, floor);
+        if (updated > 0) {
+            logger.warn("Raised {} from {} to {} to stay above max({}.id) = {}", sequence, nextVal, floor, table, maxId);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ticketmanagement.config;
+
+import com.example.ticketmanagement.model.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// How long a ticket may stay NEW before it is escalated, per priority (ticket.sla.new-timeout.HIGH=30m).
+// Priorities without a timeout are not tracked.
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticket.sla")
+public class SlaProperties {
+
+    private Map<Priority, Duration> newTimeout = new EnumMap<>(Priority.class);
+
+    // Delay before retrying an escalation that failed, e.g. while the database was unavailable
+    private Duration retryDelay = Duration.ofSeconds(30);
+
+    public Duration timeoutFor(Priority priority) {
+        return priority == null ? null : newTimeout.get(priority);
+    }
+}
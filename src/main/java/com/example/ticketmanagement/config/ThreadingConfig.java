@@ -0,0 +1,26 @@
+package com.example.ticketmanagement.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+// Long-running background workers (audit writer, index rebuild) follow the same threading mode as Tomcat:
+// virtual threads when spring.threads.virtual.enabled is set on Java 21+, daemon platform threads otherwise
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public ThreadFactory backgroundThreadFactory(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("background-").getVirtualThreadFactory();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("background-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
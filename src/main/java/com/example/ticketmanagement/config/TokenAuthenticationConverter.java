@@ -0,0 +1,30 @@
+package com.example.ticketmanagement.config;
+
+import com.example.ticketmanagement.model.MyUserDetails;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.service.TokenService;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+// Turns a validated access token into the same MyUserDetails principal the controllers already expect,
+// built from the token claims alone
+public class TokenAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        if (!TokenService.ACCESS_TYPE.equals(jwt.getClaimAsString(TokenService.TYPE_CLAIM))) {
+            throw new InvalidBearerTokenException("Not an access token");
+        }
+        User user = new User();
+        user.setId(((Number) jwt.getClaim(TokenService.USER_ID_CLAIM)).longValue());
+        user.setName(jwt.getSubject());
+        user.setRole(Role.valueOf(jwt.getClaimAsString(TokenService.ROLE_CLAIM)));
+
+        MyUserDetails principal = new MyUserDetails(user);
+        return new UsernamePasswordAuthenticationToken(principal, jwt, principal.getAuthorities());
+    }
+}
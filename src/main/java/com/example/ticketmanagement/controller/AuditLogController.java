@@ -0,0 +1,87 @@
+package com.example.ticketmanagement.controller;
+
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.MyUserDetails;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.request.AuditLogSearchCriteria;
+import com.example.ticketmanagement.service.AuditLogArchiver;
+import com.example.ticketmanagement.service.AuditLogService;
+import com.example.ticketmanagement.service.TicketService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+public class AuditLogController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogController.class);
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogArchiver auditLogArchiver;
+
+    // Newest-first audit entries filtered by ticketId, changedBy and from/to (IT Support only).
+    // A full page carries X-Next-Cursor ("creationDate,id" of the last entry), passed back as ?before=.
+    @GetMapping
+    public ResponseEntity<List<AuditLog>> getAuditLogs(
+            @ModelAttribute AuditLogSearchCriteria criteria,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) authentication.getPrincipal();
+            if (myUserDetails.getUser().getRole() != Role.ITSupport) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            LocalDateTime beforeCreationDate = null;
+            Long beforeId = null;
+            if (before != null) {
+                int comma = before.lastIndexOf(',');
+                beforeCreationDate = LocalDateTime.parse(before.substring(0, Math.max(comma, 0)));
+                beforeId = Long.valueOf(before.substring(comma + 1));
+            }
+
+            List<AuditLog> auditLogs = auditLogService.findAuditLogs(criteria, beforeCreationDate, beforeId, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (auditLogs.size() == TicketService.pageSize(size)) {
+                AuditLog last = auditLogs.get(auditLogs.size() - 1);
+                response.header(TicketController.NEXT_CURSOR_HEADER, last.getCreationDate() + "," + last.getId());
+            }
+            return response.body(auditLogs);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Error occurred while querying audit logs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Archive everything past the retention period now instead of waiting for the nightly run (IT Support only)
+    @PostMapping("/archive")
+    public ResponseEntity<String> archive(Authentication authentication) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) authentication.getPrincipal();
+            if (myUserDetails.getUser().getRole() != Role.ITSupport) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            long archived = auditLogArchiver.archive();
+            return ResponseEntity.ok("Archived " + archived + " audit logs");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error occurred while archiving audit logs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package com.example.ticketmanagement.controller;
 
+import com.example.ticketmanagement.model.MyUserDetails;
 import com.example.ticketmanagement.model.User;
 import com.example.ticketmanagement.request.LoginRequest;
+import com.example.ticketmanagement.request.RefreshTokenRequest;
+import com.example.ticketmanagement.response.TokenResponse;
+import com.example.ticketmanagement.service.TokenService;
 import com.example.ticketmanagement.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,38 +20,43 @@ public class AuthController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
 
-    public AuthController(UserService userService, AuthenticationManager authenticationManager) {
+    public AuthController(UserService userService, AuthenticationManager authenticationManager, TokenService tokenService) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
+        this.tokenService = tokenService;
     }
 
+    // The password is checked (BCrypt) once here; later requests only present the signed access token
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
             );
 
-            // Store the authentication object in the SecurityContext
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            User user = ((MyUserDetails) authentication.getPrincipal()).getUser();
+            return ResponseEntity.ok(tokenService.issueTokens(user));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(401).body(null);
+        }
+    }
 
-            return ResponseEntity.ok("Login successful for " + loginRequest.getUsername() + ", ROLE: " + authentication.getAuthorities().toString());
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            return ResponseEntity.ok(tokenService.refresh(refreshRequest.getRefreshToken()));
         } catch (BadCredentialsException e) {
-            return ResponseEntity.status(401).body("Invalid username or password");
+            return ResponseEntity.status(401).body(null);
         }
     }
 
 
 
+    // Sessions are gone, so logging out is the client discarding its tokens; access tokens expire on their own
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpServletRequest request, HttpServletResponse response) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null) {
-            new SecurityContextLogoutHandler().logout(request, response, auth);
-            request.getSession().invalidate(); // Invalidate the session
-            SecurityContextHolder.clearContext(); // Clear the authentication context
-        }
+    public ResponseEntity<String> logout() {
         return ResponseEntity.ok("Logged out successfully");
     }
 
@@ -15,6 +15,10 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/comments")
 public class CommentController {
@@ -62,4 +66,39 @@ public class CommentController {
         }
 
     }
+
+    // One page of a ticket's comments, oldest first. A full page carries X-Next-Cursor ("createdAt,id" of the
+    // last comment), which the client passes back as ?after= for the next page.
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<List<Comment>> getComments(
+            @PathVariable Long ticketId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        try {
+            User principal = ((MyUserDetails) authentication.getPrincipal()).getUser();
+            LocalDateTime afterCreatedAt = null;
+            Long afterId = null;
+            if (after != null) {
+                int comma = after.lastIndexOf(',');
+                afterCreatedAt = LocalDateTime.parse(after.substring(0, Math.max(comma, 0)));
+                afterId = Long.valueOf(after.substring(comma + 1));
+            }
+
+            List<Comment> comments = commentService.getComments(ticketId, afterCreatedAt, afterId, size, principal.getId());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(TicketController.etag(comments, Comment::getId, Comment::getVersion));
+            if (comments.size() == TicketService.pageSize(size)) {
+                Comment last = comments.get(comments.size() - 1);
+                response.header(TicketController.NEXT_CURSOR_HEADER, last.getCreatedAt() + "," + last.getId());
+            }
+            return response.body(comments);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
 }
@@ -1,20 +1,50 @@
 package com.example.ticketmanagement.controller;
 
 import com.example.ticketmanagement.model.*;
+import com.example.ticketmanagement.request.BulkStatusUpdateRequest;
 import com.example.ticketmanagement.request.TicketRequest;
+import com.example.ticketmanagement.request.TicketSearchCriteria;
+import com.example.ticketmanagement.response.BulkCreateResult;
+import com.example.ticketmanagement.response.BulkStatusUpdateResult;
+import com.example.ticketmanagement.response.TicketSearchHit;
+import com.example.ticketmanagement.response.TicketStatistics;
+import com.example.ticketmanagement.response.TicketSummary;
+import com.example.ticketmanagement.service.InvalidStatusTransitionException;
+import com.example.ticketmanagement.service.TicketEventBus;
+import com.example.ticketmanagement.service.TicketSearchService;
 import com.example.ticketmanagement.service.TicketService;
+import com.example.ticketmanagement.service.TicketStatisticsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 @RestController
 @RequestMapping("/api/tickets")
@@ -22,9 +52,31 @@ public class TicketController {
 
     private static final Logger logger = LoggerFactory.getLogger(TicketController.class);
 
+    // Response header carrying the id to pass as "after" to fetch the next page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String WATERMARK_HEADER = "X-Watermark";
+    // Response header carrying the next page number for sorted searches
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private TicketSearchService ticketSearchService;
+
+    @Autowired
+    private TicketStatisticsService ticketStatisticsService;
+
+    @Autowired
+    private TicketEventBus ticketEventBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // How long an NDJSON export may run before the container ends it
+    @Value("${ticket.export.timeout:2h}")
+    private Duration exportTimeout;
+
     // Create a new ticket
     @PostMapping("/create")
     public ResponseEntity<Ticket> createTicket(@RequestBody TicketRequest ticket) {
@@ -67,13 +119,44 @@ public class TicketController {
 
 
 
+    // Create many tickets from a JSON array
+    @PostMapping(value = "/bulk-create", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkCreateResult> createTickets(@RequestBody List<TicketRequest> tickets) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            BulkCreateResult result = ticketService.createTickets(tickets, myUserDetails.getUser().getId());
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } catch (AccessDeniedException e) {
+            return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+        } catch (Exception e) {
+            logger.error("Error occurred while bulk creating tickets", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Create many tickets from a newline-delimited JSON stream, one ticket per line
+    @PostMapping(value = "/bulk-create", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkCreateResult> importTickets(HttpServletRequest request) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            BufferedReader reader = request.getReader();
+            BulkCreateResult result = ticketService.importTickets(reader, myUserDetails.getUser().getId());
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } catch (AccessDeniedException e) {
+            return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+        } catch (Exception e) {
+            logger.error("Error occurred while importing tickets", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // Get tickets created by a specific employee
     @GetMapping("/employee/{employeeId}")
     public ResponseEntity<List<Ticket>> getTicketsByEmployee(@PathVariable Long employeeId) {
         try {
             // Call the service method to get the tickets for the employee
             List<Ticket> tickets = ticketService.getTicketsByEmployee(employeeId);
-            return ResponseEntity.ok(tickets); // Return the list of tickets
+            return ResponseEntity.ok().eTag(etag(tickets)).body(tickets); // Return the list of tickets
         } catch (AccessDeniedException e) {
             // Return a FORBIDDEN status if the employee does not have access
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
@@ -83,8 +166,16 @@ public class TicketController {
         }
     }
 
+    // Pass "since" to get only the tickets changed after it, oldest change first. Every such response carries
+    // X-Watermark ("lastModified,id" of the last ticket returned, or the given watermark when nothing changed),
+    // which the client passes back as ?since= for the next page and the next sync; a full page also repeats it
+    // as X-Next-Cursor. A bare date-time starts a sync.
     @GetMapping("/all")
-    public ResponseEntity<List<Ticket>> getAllTickets(Authentication authentication) {
+    public ResponseEntity<List<Ticket>> getAllTickets(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
         try {
             // Get the authenticated user
             MyUserDetails myUserDetails = (MyUserDetails) authentication.getPrincipal();
@@ -95,48 +186,135 @@ public class TicketController {
                 return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);  // Access denied
             }
 
-            // Proceed to fetch all tickets if the user is IT Support
-            List<Ticket> tickets = ticketService.getAllTickets(principal.getId());
-            return new ResponseEntity<>(tickets, HttpStatus.OK);
+            if (since != null) {
+                int comma = since.lastIndexOf(',');
+                LocalDateTime afterModified = LocalDateTime.parse(comma < 0 ? since : since.substring(0, comma));
+                Long afterId = comma < 0 ? null : Long.valueOf(since.substring(comma + 1));
+                List<Ticket> tickets = ticketService.getAllTickets(principal.getId(), afterModified, afterId, size);
+                Ticket last = tickets.isEmpty() ? null : tickets.get(tickets.size() - 1);
+                String watermark = last == null ? since : last.getLastModified() + "," + last.getId();
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag(tickets)).header(WATERMARK_HEADER, watermark);
+                if (tickets.size() == TicketService.pageSize(size)) {
+                    response.header(NEXT_CURSOR_HEADER, watermark);
+                }
+                return response.body(tickets);
+            }
+
+            // Proceed to fetch one page of tickets if the user is IT Support
+            List<Ticket> tickets = ticketService.getAllTickets(principal.getId(), null, after, size);
+            return page(tickets, size);
 
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
         }
     }
 
+    // Stream every ticket as newline-delimited JSON when the client asks for application/x-ndjson
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTickets(Authentication authentication, HttpServletRequest request) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) authentication.getPrincipal();
+            User principal = myUserDetails.getUser();
 
+            if (principal.getRole() != Role.ITSupport) {
+                return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+            }
 
-    // Update the status of a ticket
+            return ndjson(new TicketSearchCriteria(), request);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+        }
+    }
+
+
+
+    // The authenticated agent's own queue, NEW and IN_PROGRESS unless statuses are given (IT Support only)
+    @GetMapping("/assigned")
+    public ResponseEntity<List<Ticket>> getAssignedTickets(
+            @RequestParam(required = false) List<Status> status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
+        try {
+            User principal = ((MyUserDetails) authentication.getPrincipal()).getUser();
+            if (principal.getRole() != Role.ITSupport) {
+                return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+            }
+            List<Ticket> tickets = ticketService.getAssignedTickets(principal.getId(), status, after, size);
+            return page(tickets, size);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.FORBIDDEN);
+        }
+    }
+
+    // Update the status of a ticket. Pass expectedVersion (the version the agent was looking at)
+    // to get 409 instead of overwriting a change made by someone else in the meantime.
     @PutMapping("/update-status/{ticketId}")
     public ResponseEntity<Ticket> updateTicketStatus(
             @PathVariable Long ticketId,
-            @RequestParam Status newStatus) {
+            @RequestParam Status newStatus,
+            @RequestParam(required = false) Long expectedVersion) {
         try {
             // Get the authenticated user
             MyUserDetails myUserDetails = (MyUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
             Long userId = myUserDetails.getUser().getId();
 
             // Update the ticket status
-            Ticket updatedTicket = ticketService.updateTicketStatus(ticketId, newStatus, userId);
+            Ticket updatedTicket = ticketService.updateTicketStatus(ticketId, newStatus, expectedVersion, userId);
             return ResponseEntity.ok(updatedTicket);
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (InvalidStatusTransitionException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // Update the status of many tickets at once
+    @PutMapping("/update-status")
+    public ResponseEntity<BulkStatusUpdateResult> updateTicketStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            Long userId = myUserDetails.getUser().getId();
+
+            BulkStatusUpdateResult result = ticketService.updateTicketStatuses(request, userId);
+            return ResponseEntity.ok(result);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            logger.error("Error occurred while bulk updating ticket status", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Search tickets by any combination of id, status, priority, category, creator, creation date range
+    // and last change (since)
     @GetMapping("/filter")
     public ResponseEntity<List<Ticket>> getTickets(
-            @RequestParam(required = false) Long ticketId,
-            @RequestParam(required = false) Status status) {
+            @ModelAttribute TicketSearchCriteria criteria,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            Sort sort) {
 
         try {
             // Call the service method to get the filtered tickets
-            List<Ticket> tickets = ticketService.getTickets(ticketId, status);
-            return ResponseEntity.ok(tickets); // Return the filtered list of tickets
+            List<Ticket> tickets = ticketService.getTickets(criteria, after, page, size, sort);
+            if (sort.isSorted()) {
+                return numberedPage(tickets, page, size);
+            }
+            return page(tickets, size); // Return the filtered page of tickets
         } catch (IllegalArgumentException e) {
             // Handle invalid enum values (i.e., when an invalid status is provided)
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
@@ -146,4 +324,147 @@ public class TicketController {
         }
     }
 
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTickets(@ModelAttribute TicketSearchCriteria criteria, HttpServletRequest request) {
+        return ndjson(criteria, request);
+    }
+
+    // Ticket counts by status, priority and category, served from in-memory counters
+    @GetMapping("/stats")
+    public ResponseEntity<TicketStatistics> getStatistics() {
+        TicketStatistics statistics = ticketStatisticsService.getStatistics();
+        return ResponseEntity.ok().eTag("W/\"" + Integer.toHexString(statistics.hashCode()) + "\"").body(statistics);
+    }
+
+    // Live feed of ticket creations, status changes and comments as Server-Sent Events (IT Support only).
+    // Load the list once, then apply events; on a RESYNC event reload the list.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(Authentication authentication) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        MyUserDetails myUserDetails = (MyUserDetails) authentication.getPrincipal();
+        if (myUserDetails.getUser().getRole() != Role.ITSupport) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(ticketEventBus.subscribe());
+    }
+
+    // Full-text search over titles, descriptions and comments, best match first.
+    // IT Support searches every ticket; employees only the tickets they opened.
+    @GetMapping("/search")
+    public ResponseEntity<List<TicketSearchHit>> searchTickets(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        try {
+            User principal = ((MyUserDetails) authentication.getPrincipal()).getUser();
+            Long creatorId = principal.getRole() == Role.ITSupport ? null : principal.getId();
+            return ResponseEntity.ok(ticketSearchService.search(q, limit, creatorId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            logger.error("Error occurred while searching tickets for '{}'", q, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // Rebuild the search index from the database (IT Support only)
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<String> rebuildSearchIndex(Authentication authentication) {
+        try {
+            MyUserDetails myUserDetails = (MyUserDetails) authentication.getPrincipal();
+            if (myUserDetails.getUser().getRole() != Role.ITSupport) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            ticketSearchService.rebuild();
+            return ResponseEntity.ok("Search index rebuilt");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error occurred while rebuilding the search index", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Lightweight ticket list without comments, for dashboards and list views
+    @GetMapping("/summary")
+    public ResponseEntity<List<TicketSummary>> getTicketSummaries(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        try {
+            List<TicketSummary> summaries = ticketService.getTicketSummaries(status, after, size);
+            Long last = summaries.isEmpty() ? null : summaries.get(summaries.size() - 1).getId();
+            return page(summaries, last, size, etag(summaries, TicketSummary::getId, TicketSummary::getVersion));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // Wrap a numbered page of a sorted search, advertising the next page number when the page is full
+    private static ResponseEntity<List<Ticket>> numberedPage(List<Ticket> tickets, Integer page, Integer size) {
+        int pageSize = size == null ? TicketService.DEFAULT_PAGE_SIZE : Math.min(size, TicketService.MAX_PAGE_SIZE);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag(tickets));
+        if (tickets.size() == pageSize) {
+            response.header(NEXT_PAGE_HEADER, String.valueOf(page == null ? 1 : page + 1));
+        }
+        return response.body(tickets);
+    }
+
+    private static ResponseEntity<List<Ticket>> page(List<Ticket> tickets, Integer size) {
+        Long last = tickets.isEmpty() ? null : tickets.get(tickets.size() - 1).getId();
+        return page(tickets, last, size, etag(tickets));
+    }
+
+    // Wrap a keyset page, advertising the next cursor when the page is full
+    private static <T> ResponseEntity<List<T>> page(List<T> items, Long lastId, Integer size, String etag) {
+        int pageSize = size == null ? TicketService.DEFAULT_PAGE_SIZE : Math.min(size, TicketService.MAX_PAGE_SIZE);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (items.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(lastId));
+        }
+        return response.body(items);
+    }
+
+    private static String etag(List<Ticket> tickets) {
+        return etag(tickets, Ticket::getId, Ticket::getVersion);
+    }
+
+    // Weak ETag over the ids and versions on a list. Spring answers a matching If-None-Match with 304
+    // before the body is serialized, so unchanged pages skip comment loading and JSON writing.
+    static <T> String etag(List<T> items, Function<T, Long> id, ToLongFunction<T> version) {
+        long hash = items.size();
+        for (T item : items) {
+            hash = hash * 31 + id.apply(item);
+            hash = hash * 31 + version.applyAsLong(item);
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    // Write one JSON document per line so clients can consume the full table with constant memory
+    private ResponseEntity<StreamingResponseBody> ndjson(TicketSearchCriteria criteria, HttpServletRequest request) {
+        // The default async timeout (about 30s) would cut a large export short with no error on the client side
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> {
+            try {
+                ticketService.streamTickets(criteria, ticket -> {
+                    try {
+                        writer.writeValue(out, ticket);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
 }
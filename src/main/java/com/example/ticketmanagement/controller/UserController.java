@@ -1,12 +1,20 @@
 package com.example.ticketmanagement.controller;
 
 
+import com.example.ticketmanagement.model.AgentProfile;
+import com.example.ticketmanagement.model.MyUserDetails;
+import com.example.ticketmanagement.model.Role;
 import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.request.AgentProfileRequest;
 import com.example.ticketmanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 @RestController
 @RequestMapping("/users") // Move the path here
@@ -20,6 +28,41 @@ public class UserController {
         return userService.getUsers();
     }
 
+    // Change a user's role (IT Support only)
+    @PutMapping("/{userId}/role")
+    public ResponseEntity<User> updateRole(@PathVariable Long userId, @RequestParam Role role, Authentication authentication) {
+        try {
+            User principal = ((MyUserDetails) authentication.getPrincipal()).getUser();
+            if (principal.getRole() != Role.ITSupport) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            return ResponseEntity.ok(userService.updateRole(userId, role));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    // Set an agent's routing skills, weight and availability (IT Support only)
+    @PutMapping("/{userId}/agent-profile")
+    public ResponseEntity<AgentProfile> updateAgentProfile(@PathVariable Long userId, @RequestBody AgentProfileRequest request,
+                                                           Authentication authentication) {
+        try {
+            User principal = ((MyUserDetails) authentication.getPrincipal()).getUser();
+            if (principal.getRole() != Role.ITSupport) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+            return ResponseEntity.ok(userService.updateAgentProfile(userId, request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
 
 
 }
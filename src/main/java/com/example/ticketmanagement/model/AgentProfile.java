@@ -0,0 +1,30 @@
+package com.example.ticketmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+// Routing settings for an IT Support agent. Agents without a profile take every category with weight 1.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class AgentProfile {
+
+    @Id
+    private Long userId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "agent_skill", joinColumns = @JoinColumn(name = "user_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category")
+    private Set<Category> skills = new HashSet<>(); // Categories the agent handles; empty means all
+
+    private int weight = 1; // Relative capacity used by the WEIGHTED strategy
+
+    private boolean available = true; // Unavailable agents keep their tickets but get no new ones
+}
@@ -0,0 +1,33 @@
+package com.example.ticketmanagement.model;
+
+// What an audit entry records. Each type renders its own human-readable text from the entry's
+// structured fields, so the text is only built when an entry is read, never stored.
+public enum AuditEventType {
+    STATUS_CHANGED {
+        @Override
+        public String describe(AuditLog auditLog) {
+            return "IT Support " + actor(auditLog) + " changed the status of Ticket " + auditLog.getTicketId() +
+                    " from " + auditLog.getOldStatus() + " to " + auditLog.getNewStatus() + ".";
+        }
+    },
+    COMMENT_ADDED {
+        @Override
+        public String describe(AuditLog auditLog) {
+            return "IT Support " + actor(auditLog) + " added comment " + auditLog.getCommentId() +
+                    " on Ticket " + auditLog.getTicketId() + ".";
+        }
+    },
+    ESCALATED {
+        @Override
+        public String describe(AuditLog auditLog) {
+            return "Ticket " + auditLog.getTicketId() + " (" + auditLog.getPriority() + " priority) was escalated" +
+                    " after staying NEW for more than " + auditLog.getSlaTimeout() + ".";
+        }
+    };
+
+    public abstract String describe(AuditLog auditLog);
+
+    private static String actor(AuditLog auditLog) {
+        return auditLog.getChangedBy() == null ? "(unknown)" : auditLog.getChangedBy().getName();
+    }
+}
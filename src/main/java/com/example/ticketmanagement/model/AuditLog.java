@@ -1,30 +1,75 @@
 package com.example.ticketmanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_audit_log_ticket_created", columnList = "ticket_id, creation_date"),
+        @Index(name = "idx_audit_log_changed_by_created", columnList = "changed_by, creation_date"),
+        @Index(name = "idx_audit_log_created", columnList = "creation_date"), // time-range queries and archival
+        @Index(name = "idx_audit_log_type_created", columnList = "event_type, creation_date"),
+        @Index(name = "idx_audit_log_new_status_created", columnList = "new_status, creation_date") // e.g. resolved last week
+})
 public class AuditLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE) // Pooled ids keep JDBC insert batching enabled
     private Long id;
 
     private Long ticketId; // ID of the ticket being modified
 
     @ManyToOne
     @JoinColumn(name = "changed_by")
+    @JsonIncludeProperties({"id", "name"})
     private User changedBy; // IT support user who made the changes
 
     private LocalDateTime creationDate; // When the log was created
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private AuditEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Status oldStatus; // STATUS_CHANGED
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Status newStatus; // STATUS_CHANGED
+
+    private Long commentId; // COMMENT_ADDED; the text stays in the comment table
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Priority priority; // ESCALATED
+
+    private Duration slaTimeout; // ESCALATED
+
     @Lob // For long text
-    private String observation; // Description of what happened
+    private String observation; // Stored text of entries written before eventType existed; null for new entries
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    private LocalDateTime lastModified;
+
+    // Description of what happened, rendered from the structured fields on read
+    public String getObservation() {
+        return observation != null || eventType == null ? observation : eventType.describe(this);
+    }
 
 }
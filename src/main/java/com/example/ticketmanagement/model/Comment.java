@@ -1,10 +1,13 @@
 package com.example.ticketmanagement.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_comment_ticket_created", columnList = "ticket_id, created_at"))
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,8 +30,17 @@ public class Comment {
 
     @ManyToOne
     @JoinColumn(name = "created_by")
+    @JsonIncludeProperties({"id", "name"})
     private User createdBy;
 
     private LocalDateTime createdAt = LocalDateTime.now();;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    private LocalDateTime lastModified;
+
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.ticketmanagement.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A ticket event waiting to be relayed to the outbox sinks. Written in the same transaction as the change
+// it describes and deleted once every sink has it. The id identifies the event for deduplication; it is not
+// a commit order, since each node allocates ids from its own pooled block.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_claim", columnList = "claim_token"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE) // Pooled ids keep JDBC insert batching enabled
+    private Long id;
+
+    @Column(length = 32)
+    private String eventType;
+
+    private Long ticketId;
+
+    @JsonRawValue // Already JSON; embedded as-is when the event is delivered
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    // Set while a relay is delivering the event; a claim older than the claim timeout is taken over
+    @JsonIgnore
+    @Column(length = 36)
+    private String claimToken;
+
+    @JsonIgnore
+    private LocalDateTime claimedAt;
+
+    public OutboxEvent(Long id, String eventType, Long ticketId, String payload, LocalDateTime createdAt) {
+        this(id, eventType, ticketId, payload, createdAt, null, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ticketmanagement.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Single row stamped on the primary at a fixed interval; how old it looks on a replica is that replica's lag
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class ReplicationHeartbeat {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    private LocalDateTime beatAt;
+}
@@ -1,5 +1,39 @@
 package com.example.ticketmanagement.model;
 
 public enum Status {
-    NEW, IN_PROGRESS, RESOLVED
+    NEW, IN_PROGRESS, RESOLVED;
+
+    // Transition table: one bitmask of allowed target statuses per status, indexed by ordinal
+    private static final int[] ALLOWED = new int[values().length];
+    // Subset of ALLOWED that is only permitted when a guard passes (see TicketWorkflow)
+    private static final int[] GUARDED = new int[values().length];
+
+    static {
+        allow(NEW, IN_PROGRESS);
+        allow(NEW, RESOLVED);           // closed without work, e.g. duplicates
+        allow(IN_PROGRESS, NEW);        // handed back to the queue
+        allow(IN_PROGRESS, RESOLVED);
+        guard(RESOLVED, IN_PROGRESS);   // reopen, only within the reopen window
+    }
+
+    public boolean canTransitionTo(Status target) {
+        return (ALLOWED[ordinal()] & bit(target)) != 0;
+    }
+
+    public boolean isGuardedTransitionTo(Status target) {
+        return (GUARDED[ordinal()] & bit(target)) != 0;
+    }
+
+    private static void allow(Status from, Status to) {
+        ALLOWED[from.ordinal()] |= bit(to);
+    }
+
+    private static void guard(Status from, Status to) {
+        allow(from, to);
+        GUARDED[from.ordinal()] |= bit(to);
+    }
+
+    private static int bit(Status status) {
+        return 1 << status.ordinal();
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.ticketmanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,10 +16,17 @@ import java.util.List;
 @AllArgsConstructor
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_ticket_status_created", columnList = "status, creation_date"),
+        @Index(name = "idx_ticket_status_id", columnList = "status, id"), // keyset pages filtered by status
+        @Index(name = "idx_ticket_created_by_created", columnList = "created_by, creation_date"),
+        @Index(name = "idx_ticket_last_modified", columnList = "last_modified, id"), // ?since= delta queries
+        @Index(name = "idx_ticket_assigned_status", columnList = "assigned_to, status, id") // per-agent queues
+})
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE) // Pooled ids keep JDBC insert batching enabled
     private Long id;
 
     private String title;
@@ -32,11 +43,31 @@ public class Ticket {
     @Enumerated(EnumType.STRING)
     private Status status = Status.NEW; // Default status
 
+    private LocalDateTime statusChangedAt; // When the ticket entered its current status
+    private LocalDateTime inProgressAt;    // When work first started
+    private LocalDateTime resolvedAt;      // When the ticket was resolved; cleared on reopen
+    private LocalDateTime escalatedAt;     // When the ticket breached its SLA while NEW; cleared on status change
+
     @ManyToOne
     @JoinColumn(name = "created_by")
+    @JsonIncludeProperties({"id", "name"}) // Never the password hash, email or role; tickets go to lists, streams and SSE
     private User createdBy;
 
+    @ManyToOne
+    @JoinColumn(name = "assigned_to")
+    @JsonIncludeProperties({"id", "name"})
+    private User assignedTo; // IT Support agent picked by TicketRouter; null when no agent was available
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version; // Bumped by every change, including new comments; list ETags are built from it
+
+    @UpdateTimestamp
+    private LocalDateTime lastModified; // Set on insert and every change
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL)
+    @JsonIgnore // Served page by page from /api/comments/{ticketId}
     private List<Comment> comments;
 }
 
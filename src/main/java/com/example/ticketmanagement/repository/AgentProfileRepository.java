@@ -0,0 +1,9 @@
+package com.example.ticketmanagement.repository;
+
+import com.example.ticketmanagement.model.AgentProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AgentProfileRepository extends JpaRepository<AgentProfile, Long> {
+}
@@ -1,13 +1,64 @@
 package com.example.ticketmanagement.repository;
 
+import com.example.ticketmanagement.model.AuditEventType;
 import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, JpaSpecificationExecutor<AuditLog> {
     List<AuditLog> findByTicketId(Long ticketId);
 
-}
\ No newline at end of file
+    // Served straight from idx_audit_log_ticket_created, already in order
+    List<AuditLog> findByTicketIdOrderByCreationDateAsc(Long ticketId);
+
+    // Archival: the oldest entries before the cutoff, read from idx_audit_log_created
+    interface AuditArchiveView {
+        Long getId();
+
+        Long getTicketId();
+
+        Long getChangedById();
+
+        LocalDateTime getCreationDate();
+
+        AuditEventType getEventType();
+
+        Status getOldStatus();
+
+        Status getNewStatus();
+
+        Long getCommentId();
+
+        Priority getPriority();
+
+        Duration getSlaTimeout();
+
+        String getObservation();
+    }
+
+    @Query("select a.id as id, a.ticketId as ticketId, u.id as changedById, a.creationDate as creationDate, " +
+            "a.eventType as eventType, a.oldStatus as oldStatus, a.newStatus as newStatus, a.commentId as commentId, " +
+            "a.priority as priority, a.slaTimeout as slaTimeout, a.observation as observation " +
+            "from AuditLog a left join a.changedBy u " +
+            "where a.creationDate < :cutoff order by a.creationDate, a.id")
+    List<AuditArchiveView> findArchiveBatch(LocalDateTime cutoff, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from AuditLog a where a.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+
+}
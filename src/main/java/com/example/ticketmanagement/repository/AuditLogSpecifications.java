@@ -0,0 +1,56 @@
+package com.example.ticketmanagement.repository;
+
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.request.AuditLogSearchCriteria;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the WHERE clause for audit log queries; only the criteria that are set become predicates
+public final class AuditLogSpecifications {
+
+    private AuditLogSpecifications() {
+    }
+
+    public static Specification<AuditLog> matching(AuditLogSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getTicketId() != null) {
+                predicates.add(cb.equal(root.get("ticketId"), criteria.getTicketId()));
+            }
+            if (criteria.getChangedBy() != null) {
+                // Compares the changed_by foreign key directly, no join to user
+                predicates.add(cb.equal(root.get("changedBy").get("id"), criteria.getChangedBy()));
+            }
+            if (criteria.getEventType() != null && !criteria.getEventType().isEmpty()) {
+                predicates.add(root.get("eventType").in(criteria.getEventType()));
+            }
+            if (criteria.getOldStatus() != null && !criteria.getOldStatus().isEmpty()) {
+                predicates.add(root.get("oldStatus").in(criteria.getOldStatus()));
+            }
+            if (criteria.getNewStatus() != null && !criteria.getNewStatus().isEmpty()) {
+                predicates.add(root.get("newStatus").in(criteria.getNewStatus()));
+            }
+            if (criteria.getCommentId() != null) {
+                predicates.add(cb.equal(root.get("commentId"), criteria.getCommentId()));
+            }
+            if (criteria.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("creationDate"), criteria.getFrom()));
+            }
+            if (criteria.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("creationDate"), criteria.getTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Keyset predicate for newest-first pages: entries older than the last one of the previous page
+    public static Specification<AuditLog> before(LocalDateTime creationDate, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("creationDate"), creationDate),
+                cb.and(cb.equal(root.get("creationDate"), creationDate), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -2,9 +2,51 @@ package com.example.ticketmanagement.repository;
 
 
 import com.example.ticketmanagement.model.Comment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Integer> {
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // Just the text of each comment and who opened its ticket, keyset-paged on id; used to rebuild the search index
+    interface CommentTextView {
+        Long getId();
+
+        Long getTicketId();
+
+        Long getCreatorId();
+
+        String getContent();
+    }
+
+    @Query("select c.id as id, t.id as ticketId, t.createdBy.id as creatorId, c.content as content " +
+            "from Comment c join c.ticket t where c.id > :afterId order by c.id")
+    List<CommentTextView> findTextAfter(Long afterId, Limit limit);
+
+    // A ticket's thread in posting order, keyset-paged on (createdAt, id) and read from idx_comment_ticket_created
+    @EntityGraph(attributePaths = "createdBy")
+    List<Comment> findByTicketIdOrderByCreatedAtAscIdAsc(Long ticketId, Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("select c from Comment c where c.ticket.id = :ticketId " +
+            "and (c.createdAt > :afterCreatedAt or (c.createdAt = :afterCreatedAt and c.id > :afterId)) " +
+            "order by c.createdAt, c.id")
+    List<Comment> findPageAfter(Long ticketId, LocalDateTime afterCreatedAt, Long afterId, Limit limit);
+
+    // Comment counts for a page of tickets in one grouped query
+    interface CommentCountView {
+        Long getTicketId();
+
+        long getCount();
+    }
+
+    @Query("select c.ticket.id as ticketId, count(c) as count from Comment c where c.ticket.id in :ticketIds group by c.ticket.id")
+    List<CommentCountView> countByTicketIdIn(Collection<Long> ticketIds);
 }
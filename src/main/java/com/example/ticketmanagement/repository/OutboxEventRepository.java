@@ -0,0 +1,46 @@
+package com.example.ticketmanagement.repository;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// The relay claims a batch in one short transaction, delivers it with no transaction open and deletes it in a
+// second one, so no lock is held while sinks run and inserts from the write paths never wait on delivery.
+// Ids come from pooled sequence blocks handed to each node, so id order is not commit order: an event
+// can commit with a lower id than one already delivered and is then delivered after it.
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Lowest-id events that are unclaimed or whose claim expired; a plain read, nothing is locked
+    @Query("select e.id from OutboxEvent e where e.claimedAt is null or e.claimedAt < :expiredBefore order by e.id")
+    List<Long> findClaimableIds(LocalDateTime expiredBefore, Limit limit);
+
+    // Only rows still claimable are taken, so of two relays racing for the same ids each row goes to one of them
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.claimToken = :token, e.claimedAt = :now " +
+            "where e.id in :ids and (e.claimedAt is null or e.claimedAt < :expiredBefore)")
+    int claim(Collection<Long> ids, String token, LocalDateTime now, LocalDateTime expiredBefore);
+
+    List<OutboxEvent> findByClaimTokenOrderByIdAsc(String token);
+
+    // Delivered: drop the batch, unless its claim expired and another relay took it over
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.claimToken = :token")
+    int deleteClaimed(String token);
+
+    // Delivery failed: make the batch claimable again right away
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.claimToken = null, e.claimedAt = null where e.claimToken = :token")
+    int release(String token);
+}
@@ -0,0 +1,20 @@
+package com.example.ticketmanagement.repository;
+
+import com.example.ticketmanagement.model.ReplicationHeartbeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReplicationHeartbeatRepository extends JpaRepository<ReplicationHeartbeat, Long> {
+
+    // One UPDATE per beat; returns 0 until the row has been inserted
+    @Transactional
+    @Modifying
+    @Query("update ReplicationHeartbeat h set h.beatAt = :now where h.id = " + ReplicationHeartbeat.ID)
+    int beat(LocalDateTime now);
+}
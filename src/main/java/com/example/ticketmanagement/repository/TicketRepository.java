@@ -1,25 +1,189 @@
 package com.example.ticketmanagement.repository;
 
 
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
 import com.example.ticketmanagement.model.Status;
 import com.example.ticketmanagement.model.Ticket;
 import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.response.TicketSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket> {
 
+    // The creator and assignee are join-fetched on every list finder so they never cost an extra select per row
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
     List<Ticket> findByCreatedBy(User user);
 
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
     List<Ticket> findByCreatedById(Long userID);
 
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
     List<Ticket> findByIdAndStatus(Long ticketId, Status status);
 
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
     List<Ticket> findByStatus(Status status);
 
+    // Newest-first listing read from idx_ticket_created_by_created in index order
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
+    List<Ticket> findByCreatedByIdOrderByCreationDateDesc(Long userId);
 
-}
\ No newline at end of file
+    // Keyset pagination: seek past the last seen id instead of using OFFSET
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
+    List<Ticket> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Delta sync: tickets in change order, keyset-paged on (lastModified, id) and read from idx_ticket_last_modified.
+    // A ticket changed while a client is paging moves past the cursor and comes back on a later page.
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
+    @Query("select t from Ticket t " +
+            "where t.lastModified > :afterModified or (t.lastModified = :afterModified and t.id > :afterId) " +
+            "order by t.lastModified, t.id")
+    List<Ticket> findChangedAfter(LocalDateTime afterModified, Long afterId, Limit limit);
+
+    // An agent's queue, keyset-paged on id and read from idx_ticket_assigned_status
+    @EntityGraph(attributePaths = {"createdBy", "assignedTo"})
+    List<Ticket> findByAssignedToIdAndStatusInAndIdGreaterThanOrderByIdAsc(Long assigneeId, Collection<Status> statuses,
+                                                                           Long afterId, Limit limit);
+
+    // Summary projections: a single select with the creator and assignee joined; comment counts are filled in afterwards
+    @Query("select new com.example.ticketmanagement.response.TicketSummary(" +
+            "t.id, t.title, t.priority, t.category, t.status, t.creationDate, u.id, u.name, t.version, a.id, 0L) " +
+            "from Ticket t left join t.createdBy u left join t.assignedTo a where t.id > :afterId order by t.id")
+    List<TicketSummary> findSummaries(Long afterId, Limit limit);
+
+    @Query("select new com.example.ticketmanagement.response.TicketSummary(" +
+            "t.id, t.title, t.priority, t.category, t.status, t.creationDate, u.id, u.name, t.version, a.id, 0L) " +
+            "from Ticket t left join t.createdBy u left join t.assignedTo a where t.status = :status and t.id > :afterId order by t.id")
+    List<TicketSummary> findSummariesByStatus(Status status, Long afterId, Limit limit);
+
+    // Bulk status changes: read current statuses, then update set-based per old status
+    interface TicketStatusView {
+        Long getId();
+
+        Status getStatus();
+
+        Priority getPriority();
+
+        Category getCategory();
+
+        LocalDateTime getStatusChangedAt();
+
+        LocalDateTime getResolvedAt();
+
+        Long getAssignedToId();
+    }
+
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.category as category, " +
+            "t.statusChangedAt as statusChangedAt, t.resolvedAt as resolvedAt, a.id as assignedToId " +
+            "from Ticket t left join t.assignedTo a where t.id in :ids")
+    List<TicketStatusView> findStatusesByIdIn(Collection<Long> ids);
+
+    @Query("select t.id from Ticket t where t.status = :status and t.id > :afterId order by t.id")
+    List<Long> findIdsByStatus(Status status, long afterId, Limit limit);
+
+    // Bulk updates bypass @Version and @UpdateTimestamp, so both are set explicitly,
+    // together with the per-state timestamps
+    default int updateStatus(Collection<Long> ids, Status oldStatus, Status newStatus, LocalDateTime now) {
+        return updateStatus(ids, oldStatus, newStatus, now, startedAt(newStatus, now), resolvedAt(newStatus, now));
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.version = t.version + 1, t.lastModified = :now, " +
+            "t.statusChangedAt = :now, t.inProgressAt = coalesce(t.inProgressAt, :inProgressAt), t.resolvedAt = :resolvedAt, " +
+            "t.escalatedAt = null where t.id in :ids and t.status = :oldStatus")
+    int updateStatus(Collection<Long> ids, Status oldStatus, Status newStatus, LocalDateTime now,
+                     LocalDateTime inProgressAt, LocalDateTime resolvedAt);
+
+    // Atomic status transition: applies only if the ticket is still at the version the caller read
+    default int compareAndSetStatus(Long id, long expectedVersion, Status newStatus, LocalDateTime now) {
+        return compareAndSetStatus(id, expectedVersion, newStatus, now, startedAt(newStatus, now), resolvedAt(newStatus, now));
+    }
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.version = t.version + 1, t.lastModified = :now, " +
+            "t.statusChangedAt = :now, t.inProgressAt = coalesce(t.inProgressAt, :inProgressAt), t.resolvedAt = :resolvedAt, " +
+            "t.escalatedAt = null where t.id = :id and t.version = :expectedVersion")
+    int compareAndSetStatus(Long id, long expectedVersion, Status newStatus, LocalDateTime now,
+                            LocalDateTime inProgressAt, LocalDateTime resolvedAt);
+
+    // inProgressAt keeps the first start of work; resolvedAt is only set while the ticket is resolved
+    private static LocalDateTime startedAt(Status newStatus, LocalDateTime now) {
+        return newStatus == Status.IN_PROGRESS ? now : null;
+    }
+
+    private static LocalDateTime resolvedAt(Status newStatus, LocalDateTime now) {
+        return newStatus == Status.RESOLVED ? now : null;
+    }
+
+    // Mark a ticket changed when something embedded in it (a new comment) changes
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.version = t.version + 1, t.lastModified = :now where t.id = :id")
+    int touch(Long id, LocalDateTime now);
+
+    // SLA tracking: open tickets of the given priorities with the time they entered their status,
+    // read once at startup in id order (idx_ticket_status_id)
+    interface SlaCandidateView {
+        Long getId();
+
+        Priority getPriority();
+
+        LocalDateTime getEnteredAt();
+    }
+
+    @Query("select t.id as id, t.priority as priority, coalesce(t.statusChangedAt, t.creationDate) as enteredAt " +
+            "from Ticket t where t.status = :status and t.escalatedAt is null and t.priority in :priorities " +
+            "and t.id > :afterId order by t.id")
+    List<SlaCandidateView> findSlaCandidates(Status status, Collection<Priority> priorities, Long afterId, Limit limit);
+
+    // Escalate only if the ticket is still in that status, not yet escalated, and entered it before the cutoff;
+    // stale deadlines and other nodes racing on the same ticket update nothing
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.escalatedAt = :now, t.version = t.version + 1, t.lastModified = :now " +
+            "where t.id = :id and t.status = :status and t.escalatedAt is null " +
+            "and coalesce(t.statusChangedAt, t.creationDate) <= :cutoff")
+    int escalate(Long id, Status status, LocalDateTime cutoff, LocalDateTime now);
+
+    // Ticket counts per (status, priority, category), used to seed the statistics counters
+    interface TicketCountView {
+        Status getStatus();
+
+        Priority getPriority();
+
+        Category getCategory();
+
+        long getCount();
+    }
+
+    @Query("select t.status as status, t.priority as priority, t.category as category, count(t) as count " +
+            "from Ticket t group by t.status, t.priority, t.category")
+    List<TicketCountView> countByStatusPriorityCategory();
+
+    // Open tickets per assignee, used to seed the routing load counters
+    interface AssigneeLoadView {
+        Long getAssigneeId();
+
+        long getCount();
+    }
+
+    @Query("select a.id as assigneeId, count(t) as count from Ticket t join t.assignedTo a " +
+            "where t.status <> :closed group by a.id")
+    List<AssigneeLoadView> countOpenByAssignee(Status closed);
+
+
+}
@@ -0,0 +1,90 @@
+package com.example.ticketmanagement.repository;
+
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.request.TicketSearchCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Builds the WHERE clause for dynamic ticket searches; only the criteria that are set become predicates
+public final class TicketSpecifications {
+
+    // Enum columns stored by name would sort alphabetically (HIGH < LOW < MEDIUM); these sort by declaration order
+    private static final Map<String, Class<? extends Enum<?>>> RANKED = Map.of(
+            "priority", Priority.class,
+            "status", Status.class);
+
+    private TicketSpecifications() {
+    }
+
+    public static Specification<Ticket> matching(TicketSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getTicketId() != null) {
+                predicates.add(cb.equal(root.get("id"), criteria.getTicketId()));
+            }
+            if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+                predicates.add(root.get("status").in(criteria.getStatus()));
+            }
+            if (criteria.getPriority() != null && !criteria.getPriority().isEmpty()) {
+                predicates.add(root.get("priority").in(criteria.getPriority()));
+            }
+            if (criteria.getCategory() != null && !criteria.getCategory().isEmpty()) {
+                predicates.add(root.get("category").in(criteria.getCategory()));
+            }
+            if (criteria.getCreatedBy() != null) {
+                // Compares the created_by foreign key directly, no join to user
+                predicates.add(cb.equal(root.get("createdBy").get("id"), criteria.getCreatedBy()));
+            }
+            if (criteria.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("creationDate"), criteria.getCreatedFrom()));
+            }
+            if (criteria.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("creationDate"), criteria.getCreatedTo()));
+            }
+            if (criteria.getSince() != null) {
+                predicates.add(cb.greaterThan(root.get("lastModified"), criteria.getSince()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Keyset predicate: tickets after the last id of the previous page
+    public static Specification<Ticket> idAfter(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    // ORDER BY for a sorted search, with enum properties ranked by declaration order; adds no predicate
+    public static Specification<Ticket> orderedBy(Sort sort) {
+        return (root, query, cb) -> {
+            List<Order> orders = new ArrayList<>();
+            for (Sort.Order order : sort) {
+                Expression<?> key = rank(root.get(order.getProperty()), RANKED.get(order.getProperty()), cb);
+                orders.add(order.isAscending() ? cb.asc(key) : cb.desc(key));
+            }
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    private static Expression<?> rank(Path<Object> path, Class<? extends Enum<?>> enumType, CriteriaBuilder cb) {
+        if (enumType == null) {
+            return path;
+        }
+        CriteriaBuilder.SimpleCase<Object, Integer> rank = cb.selectCase(path);
+        for (Enum<?> constant : enumType.getEnumConstants()) {
+            rank.when(constant, constant.ordinal());
+        }
+        return rank.otherwise(-1); // null sorts before every value
+    }
+}
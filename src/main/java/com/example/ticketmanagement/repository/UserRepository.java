@@ -1,6 +1,7 @@
 package com.example.ticketmanagement.repository;
 
 
+import com.example.ticketmanagement.model.Role;
 import com.example.ticketmanagement.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -11,4 +12,6 @@ import java.util.List;
 public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByName(String name);
+
+    List<User> findByRole(Role role);
 }
@@ -0,0 +1,22 @@
+package com.example.ticketmanagement.request;
+
+import com.example.ticketmanagement.model.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgentProfileRequest {
+    // Categories the agent handles; empty or missing means all
+    private Set<Category> skills;
+
+    // Relative capacity for weighted routing, defaults to 1
+    private Integer weight;
+
+    // Whether the agent receives new tickets, defaults to true
+    private Boolean available;
+}
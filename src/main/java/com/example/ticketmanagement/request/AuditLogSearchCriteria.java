@@ -0,0 +1,37 @@
+package com.example.ticketmanagement.request;
+
+import com.example.ticketmanagement.model.AuditEventType;
+import com.example.ticketmanagement.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Audit log filters bound from query parameters; every field is optional and
+// multi-valued fields match any of the given values (e.g. ?eventType=STATUS_CHANGED&newStatus=RESOLVED)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditLogSearchCriteria {
+    private Long ticketId;
+
+    // Id of the user who made the change
+    private Long changedBy;
+
+    private List<AuditEventType> eventType;
+
+    private List<Status> oldStatus;
+
+    private List<Status> newStatus;
+
+    private Long commentId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
@@ -0,0 +1,23 @@
+package com.example.ticketmanagement.request;
+
+import com.example.ticketmanagement.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateRequest {
+    // Explicit tickets to update; when empty, every ticket currently in currentStatus is selected instead
+    private List<Long> ticketIds;
+
+    private Status currentStatus;
+
+    // With currentStatus: continue after this id, taken from the previous result's nextCursor
+    private Long afterId;
+
+    private Status newStatus;
+}
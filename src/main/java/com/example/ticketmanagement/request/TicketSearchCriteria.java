@@ -0,0 +1,39 @@
+package com.example.ticketmanagement.request;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Ticket filters bound from query parameters; every field is optional and
+// multi-valued fields match any of the given values (e.g. ?status=NEW&status=IN_PROGRESS)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSearchCriteria {
+    private Long ticketId;
+
+    private List<Status> status;
+
+    private List<Priority> priority;
+
+    private List<Category> category;
+
+    private Long createdBy;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // Only tickets changed after this instant (delta sync)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime since;
+}
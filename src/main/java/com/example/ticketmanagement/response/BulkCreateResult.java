@@ -0,0 +1,33 @@
+package com.example.ticketmanagement.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResult {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;        // zero-based position in the submitted array or stream
+        private String message;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CreatedTicket {
+        private int row;
+        private Long id;
+    }
+
+    private List<CreatedTicket> created = new ArrayList<>();
+    private List<RowError> errors = new ArrayList<>();
+}
@@ -0,0 +1,43 @@
+package com.example.ticketmanagement.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED,     // status changed and audited
+        UNCHANGED,   // ticket already had the target status
+        NOT_FOUND,   // no ticket with that id
+        CONFLICT,    // ticket changed concurrently; retry it individually
+        REJECTED     // the workflow does not allow this transition
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TicketOutcome {
+        private Long ticketId;
+        private Outcome outcome;
+    }
+
+    private int updated;
+    private List<TicketOutcome> results = new ArrayList<>();
+
+    // Set when currentStatus matched more tickets than one request handles; send it back as afterId for the rest
+    private Long nextCursor;
+
+    public void add(Long ticketId, Outcome outcome) {
+        results.add(new TicketOutcome(ticketId, outcome));
+        if (outcome == Outcome.UPDATED) {
+            updated++;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ticketmanagement.response;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Comment;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One change pushed to /api/tickets/events subscribers. RESYNC tells a client that events were dropped
+// because it fell behind, and that it should reload its ticket list before applying further events.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketEvent {
+
+    public enum Type { CREATED, STATUS_CHANGED, COMMENT_ADDED, ESCALATED, RESYNC }
+
+    private long sequence; // assigned by the event bus, increases across all events
+    private Type type;
+    private Long ticketId;
+    private String title;
+    private Priority priority;
+    private Category category;
+    private Status status;
+    private Status previousStatus;
+    private Long commentId;
+    private Long assigneeId;
+    private Long actorId;
+    private LocalDateTime occurredAt;
+
+    public static TicketEvent created(Ticket ticket) {
+        TicketEvent event = new TicketEvent();
+        event.setType(Type.CREATED);
+        event.setTicketId(ticket.getId());
+        event.setTitle(ticket.getTitle());
+        event.setPriority(ticket.getPriority());
+        event.setCategory(ticket.getCategory());
+        event.setStatus(ticket.getStatus());
+        event.setActorId(ticket.getCreatedBy() == null ? null : ticket.getCreatedBy().getId());
+        event.setAssigneeId(ticket.getAssignedTo() == null ? null : ticket.getAssignedTo().getId());
+        event.setOccurredAt(ticket.getCreationDate());
+        return event;
+    }
+
+    public static TicketEvent statusChanged(Long ticketId, Priority priority, Category category,
+                                            Status previousStatus, Status status, Long actorId) {
+        TicketEvent event = new TicketEvent();
+        event.setType(Type.STATUS_CHANGED);
+        event.setTicketId(ticketId);
+        event.setPriority(priority);
+        event.setCategory(category);
+        event.setPreviousStatus(previousStatus);
+        event.setStatus(status);
+        event.setActorId(actorId);
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+
+    public static TicketEvent commentAdded(Comment comment) {
+        TicketEvent event = new TicketEvent();
+        event.setType(Type.COMMENT_ADDED);
+        event.setTicketId(comment.getTicket().getId());
+        event.setCommentId(comment.getId());
+        event.setActorId(comment.getCreatedBy() == null ? null : comment.getCreatedBy().getId());
+        event.setOccurredAt(comment.getCreatedAt());
+        return event;
+    }
+
+    public static TicketEvent escalated(Long ticketId, Priority priority, Status status, LocalDateTime escalatedAt) {
+        TicketEvent event = new TicketEvent();
+        event.setType(Type.ESCALATED);
+        event.setTicketId(ticketId);
+        event.setPriority(priority);
+        event.setStatus(status);
+        event.setOccurredAt(escalatedAt);
+        return event;
+    }
+
+    public static TicketEvent resync() {
+        TicketEvent event = new TicketEvent();
+        event.setType(Type.RESYNC);
+        event.setOccurredAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ticketmanagement.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchHit {
+    private Long ticketId;
+    private float score;
+    private String title;
+    private List<String> highlights; // matching fragments with the terms wrapped in <em>
+}
@@ -0,0 +1,31 @@
+package com.example.ticketmanagement.response;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStatistics {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TicketCount {
+        private Status status;
+        private Priority priority;
+        private Category category;
+        private long count;
+    }
+
+    private long total;
+    private Map<Status, Long> byStatus;
+    private List<TicketCount> counts; // non-zero (status, priority, category) buckets
+}
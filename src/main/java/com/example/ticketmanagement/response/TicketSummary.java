@@ -0,0 +1,28 @@
+package com.example.ticketmanagement.response;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Lightweight list view of a ticket: comments reduced to a count, creator flattened to id and name
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSummary {
+    private Long id;
+    private String title;
+    private Priority priority;
+    private Category category;
+    private Status status;
+    private LocalDateTime creationDate;
+    private Long createdById;
+    private String createdByName;
+    private long version;
+    private Long assignedToId;
+    private long commentCount;
+}
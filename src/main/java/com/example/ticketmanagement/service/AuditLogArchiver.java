@@ -0,0 +1,144 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AuditEventType;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.example.ticketmanagement.repository.AuditLogRepository.AuditArchiveView;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+// Moves audit entries older than the retention period out of audit_log into gzip-compressed NDJSON
+// segments, one or more per day (audit-<day>-<first id>.ndjson.gz), so the hot table only holds recent history.
+// A segment is synced and moved into place before its rows are deleted; a crash in between just means the
+// next run writes the same rows again, so every entry ends up in at least one segment.
+@Service
+public class AuditLogArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogArchiver.class);
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectWriter writer;
+    private final Path archivePath;
+    private final Duration retention;
+    private final int batchSize;
+    private final boolean enabled;
+    private final Counter archived;
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
+    public AuditLogArchiver(AuditLogRepository auditLogRepository,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${audit.archive.path:data/audit-archive}") Path archivePath,
+                            @Value("${audit.archive.retention:90d}") Duration retention,
+                            @Value("${audit.archive.batch-size:5000}") int batchSize,
+                            @Value("${audit.archive.enabled:true}") boolean enabled) {
+        this.auditLogRepository = auditLogRepository;
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.archivePath = archivePath;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+        this.archived = meterRegistry.counter("audit.archived");
+    }
+
+    @Scheduled(cron = "${audit.archive.cron:0 30 2 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archive();
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled audit archival: {}", e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to archive audit logs", e);
+        }
+    }
+
+    // Archive every entry from before the start of the day that falls out of retention; returns how many moved
+    public long archive() throws IOException {
+        if (!archiving.compareAndSet(false, true)) {
+            throw new IllegalStateException("An archive run is already in progress");
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention).toLocalDate().atStartOfDay();
+            Files.createDirectories(archivePath);
+            long total = 0;
+            List<AuditArchiveView> batch;
+            do {
+                // Archived rows are deleted, so each batch starts again from the oldest remaining entry
+                batch = auditLogRepository.findArchiveBatch(cutoff, Limit.of(batchSize));
+                Map<LocalDate, List<AuditArchiveView>> byDay = new LinkedHashMap<>();
+                for (AuditArchiveView entry : batch) {
+                    byDay.computeIfAbsent(entry.getCreationDate().toLocalDate(), day -> new ArrayList<>()).add(entry);
+                }
+                for (Map.Entry<LocalDate, List<AuditArchiveView>> day : byDay.entrySet()) {
+                    List<AuditArchiveView> entries = day.getValue();
+                    writeSegment(day.getKey(), entries);
+                    auditLogRepository.deleteByIdIn(entries.stream().map(AuditArchiveView::getId).toList());
+                    archived.increment(entries.size());
+                    total += entries.size();
+                }
+            } while (batch.size() == batchSize);
+            if (total > 0) {
+                logger.info("Archived {} audit logs from before {} to {}", total, cutoff, archivePath);
+            }
+            return total;
+        } finally {
+            archiving.set(false);
+        }
+    }
+
+    private void writeSegment(LocalDate day, List<AuditArchiveView> entries) throws IOException {
+        Path segment = archivePath.resolve("audit-" + day + "-" + entries.get(0).getId() + ".ndjson.gz");
+        Path temp = archivePath.resolve(segment.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             GZIPOutputStream out = new GZIPOutputStream(new BufferedOutputStream(file))) {
+            for (AuditArchiveView entry : entries) {
+                writer.writeValue(out, new ArchivedAuditLog(entry.getId(), entry.getTicketId(), entry.getChangedById(),
+                        entry.getCreationDate(), entry.getEventType(), entry.getOldStatus(), entry.getNewStatus(),
+                        entry.getCommentId(), entry.getPriority(), entry.getSlaTimeout(), entry.getObservation()));
+                out.write('\n');
+            }
+            out.finish();
+            out.flush();
+            file.getFD().sync(); // The rows are deleted next; make sure the segment is on disk first
+        }
+        Files.move(temp, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // One line of a segment; the user is kept as an id so segments stay readable after users change.
+    // Null fields are left out, so each line only carries what its event type uses.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ArchivedAuditLog(Long id, Long ticketId, Long changedBy, LocalDateTime creationDate,
+                                   AuditEventType eventType, Status oldStatus, Status newStatus, Long commentId,
+                                   Priority priority, Duration slaTimeout, String observation) {
+    }
+}
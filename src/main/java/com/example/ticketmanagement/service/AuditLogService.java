@@ -1,50 +1,103 @@
 package com.example.ticketmanagement.service;
 
+import com.example.ticketmanagement.model.AuditEventType;
 import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.Priority;
 import com.example.ticketmanagement.model.Status;
 import com.example.ticketmanagement.model.User;
 import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.example.ticketmanagement.repository.AuditLogSpecifications;
+import com.example.ticketmanagement.request.AuditLogSearchCriteria;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AuditLogService {
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
-    public AuditLogService(AuditLogRepository auditLogRepository) {
+    public AuditLogService(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
     }
 
     // Log a status change
+    @Timed(value = "audit.log.status-change")
     public void logStatusChange(Long ticketId, User changedBy, Status oldStatus, Status newStatus) {
-        String observation = "IT Support " + changedBy.getName() +
-                " changed the status of Ticket " + ticketId +
-                " from " + oldStatus + " to " + newStatus + ".";
-        saveAuditLog(ticketId, changedBy, observation);
+        AuditLog auditLog = newAuditLog(AuditEventType.STATUS_CHANGED, ticketId, changedBy, LocalDateTime.now());
+        auditLog.setOldStatus(oldStatus);
+        auditLog.setNewStatus(newStatus);
+        auditLogWriter.write(auditLog);
     }
 
-    // Log a comment addition
-    public void logCommentAddition(Long ticketId, User changedBy, String comment) {
-        String observation = "IT Support " + changedBy.getName() +
-                " added a comment on Ticket " + ticketId +
-                ": " + comment + ".";
-        saveAuditLog(ticketId, changedBy, observation);
+    // Log a set of status changes made by one bulk update; written in one JDBC batch
+    // inside the caller's transaction so the audit trail commits with the updates
+    @Timed(value = "audit.log.status-changes")
+    public void logStatusChanges(Map<Long, Status> oldStatuses, User changedBy, Status newStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> auditLogs = new ArrayList<>(oldStatuses.size());
+        oldStatuses.forEach((ticketId, oldStatus) -> {
+            AuditLog auditLog = newAuditLog(AuditEventType.STATUS_CHANGED, ticketId, changedBy, now);
+            auditLog.setOldStatus(oldStatus);
+            auditLog.setNewStatus(newStatus);
+            auditLogs.add(auditLog);
+        });
+        auditLogRepository.saveAll(auditLogs);
     }
 
-    // Save the audit log
-    private void saveAuditLog(Long ticketId, User changedBy, String observation) {
+    // Log an SLA escalation; made by the system, so there is no user
+    @Timed(value = "audit.log.escalation")
+    public void logEscalation(Long ticketId, Priority priority, Duration timeout) {
+        AuditLog auditLog = newAuditLog(AuditEventType.ESCALATED, ticketId, null, LocalDateTime.now());
+        auditLog.setPriority(priority);
+        auditLog.setSlaTimeout(timeout);
+        auditLogWriter.write(auditLog);
+    }
+
+    // Log a comment addition; the entry references the comment instead of copying its text
+    @Timed(value = "audit.log.comment")
+    public void logCommentAddition(Long ticketId, User changedBy, Long commentId) {
+        AuditLog auditLog = newAuditLog(AuditEventType.COMMENT_ADDED, ticketId, changedBy, LocalDateTime.now());
+        auditLog.setCommentId(commentId);
+        auditLogWriter.write(auditLog);
+    }
+
+    private static AuditLog newAuditLog(AuditEventType eventType, Long ticketId, User changedBy, LocalDateTime creationDate) {
         AuditLog auditLog = new AuditLog();
+        auditLog.setEventType(eventType);
         auditLog.setTicketId(ticketId);
         auditLog.setChangedBy(changedBy);
-        auditLog.setCreationDate(LocalDateTime.now());
-        auditLog.setObservation(observation);
-        auditLogRepository.save(auditLog);
+        auditLog.setCreationDate(creationDate);
+        return auditLog;
     }
 
     // Get all audit logs for a specific ticket
     public List<AuditLog> getAuditLogsForTicket(Long ticketId) {
-        return auditLogRepository.findByTicketId(ticketId);
+        return auditLogRepository.findByTicketIdOrderByCreationDateAsc(ticketId);
+    }
+
+    // One newest-first page of the entries matching the criteria, keyset-seeked past the (creationDate, id)
+    // of the last entry the client saw. Only the hot table is searched; archived entries live in the segments.
+    @Timed(value = "audit.log.query")
+    @Transactional(readOnly = true)
+    public List<AuditLog> findAuditLogs(AuditLogSearchCriteria criteria, LocalDateTime beforeCreationDate, Long beforeId, Integer size) {
+        Specification<AuditLog> spec = AuditLogSpecifications.matching(criteria);
+        if (beforeCreationDate != null) {
+            spec = spec.and(AuditLogSpecifications.before(beforeCreationDate, beforeId == null ? Long.MAX_VALUE : beforeId));
+        }
+        int pageSize = TicketService.pageSize(size);
+        return auditLogRepository.findBy(spec, query -> query.project("changedBy")
+                .sortBy(Sort.by(Sort.Direction.DESC, "creationDate", "id"))
+                .limit(pageSize)
+                .all());
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.example.ticketmanagement.service.AuditLogArchiver.ArchivedAuditLog;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// Buffers audit entries in memory and inserts them in JDBC batches on a background thread.
+// In SYNC mode callers wait until their entry's batch is committed; in ASYNC mode they return immediately.
+// When the buffer is full the caller waits briefly, then writes its entry inline (backpressure, never loss).
+// A batch that fails is retried row by row; rows that still fail are appended to a dead-letter file in the
+// archive's NDJSON format so they can be replayed, rather than dropped with the rest of the batch.
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    public enum Mode { ASYNC, SYNC }
+
+    private final AuditLogRepository auditLogRepository;
+    private final Mode mode;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+    private final int maxAttempts;
+    private final Path deadLetterPath;
+    private final ObjectWriter deadLetterWriter;
+    private final BlockingQueue<PendingEntry> buffer;
+    private final ThreadFactory threadFactory;
+    private final DistributionSummary batchSizes;
+    private final Counter inlineWrites;
+    private final Counter failedWrites;
+    private final Counter deadLetters;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          MeterRegistry meterRegistry,
+                          ObjectMapper objectMapper,
+                          ThreadFactory backgroundThreadFactory,
+                          @Value("${audit.writer.mode:ASYNC}") Mode mode,
+                          @Value("${audit.writer.buffer-capacity:10000}") int bufferCapacity,
+                          @Value("${audit.writer.batch-size:100}") int batchSize,
+                          @Value("${audit.writer.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${audit.writer.enqueue-timeout-ms:50}") long enqueueTimeoutMs,
+                          @Value("${audit.writer.max-attempts:3}") int maxAttempts,
+                          @Value("${audit.writer.dead-letter-path:data/audit-dead-letter.ndjson}") Path deadLetterPath) {
+        this.auditLogRepository = auditLogRepository;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.deadLetterPath = deadLetterPath;
+        this.deadLetterWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.threadFactory = backgroundThreadFactory;
+        Gauge.builder("audit.writer.pending", buffer, BlockingQueue::size).register(meterRegistry);
+        this.batchSizes = meterRegistry.summary("audit.writer.batch.size");
+        this.inlineWrites = meterRegistry.counter("audit.writer.inline.writes");
+        this.failedWrites = meterRegistry.counter("audit.writer.failed.writes");
+        this.deadLetters = meterRegistry.counter("audit.writer.dead.letters");
+    }
+
+    // Queue one entry for the next batch
+    public void write(AuditLog auditLog) {
+        PendingEntry entry = new PendingEntry(auditLog, mode == Mode.SYNC ? new CompletableFuture<>() : null);
+        // Writer stopped or buffer full: the caller pays for its own insert. If stop() ran while the entry was
+        // being queued the worker may already have exited; whoever takes the entry off the buffer writes it
+        if (!running || !offer(entry) || (!running && buffer.remove(entry))) {
+            inlineWrites.increment();
+            auditLogRepository.save(auditLog);
+            return;
+        }
+        if (entry.flushed != null) {
+            entry.flushed.join();
+        }
+    }
+
+    // Number of entries waiting to be flushed
+    public int pending() {
+        return buffer.size();
+    }
+
+    private boolean offer(PendingEntry entry) {
+        try {
+            return buffer.offer(entry, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingEntry first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Loop condition decides whether to keep draining
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingEntry> batch) {
+        List<AuditLog> logs = new ArrayList<>(batch.size());
+        for (PendingEntry entry : batch) {
+            logs.add(entry.auditLog);
+        }
+        batchSizes.record(logs.size());
+        try {
+            auditLogRepository.saveAll(logs);
+            for (PendingEntry entry : batch) {
+                if (entry.flushed != null) {
+                    entry.flushed.complete(null);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write batch of {} audit logs, retrying them one by one", logs.size(), e);
+            for (PendingEntry entry : batch) {
+                saveOneByOne(entry);
+            }
+        }
+    }
+
+    // One transaction per row, so a single bad row no longer takes the rest of its batch down with it
+    private void saveOneByOne(PendingEntry entry) {
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            // The failed batch may have assigned an id that was rolled back with it
+            entry.auditLog.setId(null);
+            try {
+                auditLogRepository.save(entry.auditLog);
+                if (entry.flushed != null) {
+                    entry.flushed.complete(null);
+                }
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+                if (attempt < maxAttempts) {
+                    pause(flushIntervalMs * attempt);
+                }
+            }
+        }
+        failedWrites.increment();
+        deadLetter(entry.auditLog, failure);
+        if (entry.flushed != null) {
+            entry.flushed.completeExceptionally(failure);
+        }
+    }
+
+    private void deadLetter(AuditLog auditLog, RuntimeException failure) {
+        ArchivedAuditLog line = new ArchivedAuditLog(null, auditLog.getTicketId(),
+                auditLog.getChangedBy() != null ? auditLog.getChangedBy().getId() : null, auditLog.getCreationDate(),
+                auditLog.getEventType(), auditLog.getOldStatus(), auditLog.getNewStatus(), auditLog.getCommentId(),
+                auditLog.getPriority(), auditLog.getSlaTimeout(), auditLog.getObservation());
+        try {
+            if (deadLetterPath.getParent() != null) {
+                Files.createDirectories(deadLetterPath.getParent());
+            }
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(deadLetterPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                deadLetterWriter.writeValue(out, line);
+                out.write('\n');
+            }
+            deadLetters.increment();
+            logger.error("Audit log could not be written after {} attempts, appended to {}", maxAttempts,
+                    deadLetterPath, failure);
+        } catch (IOException e) {
+            // Last resort: the entry itself goes to the application log
+            logger.error("Audit log could not be written or dead-lettered, lost: {}", line, failure);
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = threadFactory.newThread(this::drainLoop);
+        worker.setName("audit-log-writer");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // Drain whatever is buffered before the datasource goes away. The worker notices within one
+        // flush interval; it is not interrupted, since that would close a virtual thread's JDBC socket mid-batch
+        running = false;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingEntry(AuditLog auditLog, CompletableFuture<Void> flushed) {
+    }
+}
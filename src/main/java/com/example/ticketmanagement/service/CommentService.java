@@ -3,11 +3,18 @@ package com.example.ticketmanagement.service;
 import com.example.ticketmanagement.model.*;
 import com.example.ticketmanagement.repository.CommentRepository;
 import com.example.ticketmanagement.repository.TicketRepository;
-import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.response.TicketEvent;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.security.access.AccessDeniedException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -19,14 +26,29 @@ public class CommentService {
     private TicketRepository ticketRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
 
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private TicketSearchService ticketSearchService;
+
+    @Autowired
+    private TicketEventBus ticketEventBus;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // The comment, the ticket's version bump and the outbox event commit together
+    @Timed(value = "comments.add")
+    @Transactional
     public Comment addComment(Long ticketId, String content, Long userId) {
         // Check if the user exists
-        User user = userRepository.findById(userId)
+        User user = userService.findUserById(userId)
                 .orElseThrow(() -> new AccessDeniedException("User not found"));
 
         // Check if the user's role is "ITSupport"
@@ -45,12 +67,41 @@ public class CommentService {
         comment.setContent(content);
 
         Comment savedComment = commentRepository.save(comment);
-
-        // Log the comment addition
-        auditLogService.logCommentAddition(ticketId, user, content);
+        // The ticket's comment count changed, so its version and ETag move too
+        ticketRepository.touch(ticketId, LocalDateTime.now());
+        TicketEvent commentAdded = TicketEvent.commentAdded(savedComment);
+        outboxService.append(commentAdded);
+        ticketEventBus.publish(commentAdded);
+        // The audit writer saves in its own transaction, so the entry is only handed over once the comment is durable
+        TransactionHooks.afterCommit(() -> {
+            auditLogService.logCommentAddition(ticketId, user, savedComment.getId());
+            ticketSearchService.indexComment(savedComment);
+            meterRegistry.counter("comments.added").increment();
+        });
 
         return savedComment;
     }
 
+    // One page of a ticket's comments in posting order, for IT Support or the employee who opened it.
+    // Pages are keyset-seeked past the (createdAt, id) of the last comment the client saw.
+    @Timed(value = "comments.list")
+    @Transactional(readOnly = true)
+    public List<Comment> getComments(Long ticketId, LocalDateTime afterCreatedAt, Long afterId, Integer size, Long userId) {
+        User user = userService.findUserById(userId)
+                .orElseThrow(() -> new AccessDeniedException("User not found"));
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
+        if (user.getRole() != Role.ITSupport
+                && (ticket.getCreatedBy() == null || !ticket.getCreatedBy().getId().equals(user.getId()))) {
+            throw new AccessDeniedException("Only IT Support or the ticket's creator can read its comments");
+        }
+
+        Limit limit = Limit.of(TicketService.pageSize(size));
+        if (afterCreatedAt == null) {
+            return commentRepository.findByTicketIdOrderByCreatedAtAscIdAsc(ticketId, limit);
+        }
+        return commentRepository.findPageAfter(ticketId, afterCreatedAt, afterId == null ? 0L : afterId, limit);
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Status;
+
+// A status change the workflow does not allow, e.g. RESOLVED -> NEW or reopening after the reopen window
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(Status from, Status to) {
+        super("Cannot change ticket status from " + from + " to " + to);
+    }
+}
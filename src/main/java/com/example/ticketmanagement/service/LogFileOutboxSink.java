@@ -0,0 +1,52 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends relayed events to a local newline-delimited JSON file, one event per line
+@Component
+@ConditionalOnProperty(name = "outbox.log-file.enabled", havingValue = "true", matchIfMissing = true)
+public class LogFileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectWriter writer;
+
+    public LogFileOutboxSink(ObjectMapper objectMapper,
+                             @Value("${outbox.log-file.path:data/outbox/ticket-events.ndjson}") Path path) {
+        this.path = path;
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public String name() {
+        return "log-file";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        // Opened per batch so the file can be rotated or removed while the application runs
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            for (OutboxEvent event : events) {
+                writer.writeValue(out, event);
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+import com.example.ticketmanagement.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// Drains the outbox on a background thread, lowest ids first. Each batch is claimed in a short transaction,
+// handed to every sink with no transaction or lock held, then deleted; a failure anywhere releases the claim so
+// the batch is retried whole, and a relay that dies mid-delivery loses its claim after the claim timeout.
+// Delivery is at least once and not ordered across nodes or concurrent transactions (see OutboxEventRepository).
+// Commits that add events wake the relay up; otherwise it polls.
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadFactory threadFactory;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long retryDelayMs;
+    private final Duration claimTimeout;
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final Counter relayed;
+    private final Counter failedBatches;
+    private final Timer lag;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       TransactionTemplate transactionTemplate,
+                       ThreadFactory backgroundThreadFactory,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.poll-interval-ms:1000}") long pollIntervalMs,
+                       @Value("${outbox.relay.retry-delay-ms:5000}") long retryDelayMs,
+                       @Value("${outbox.relay.claim-timeout:5m}") Duration claimTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.threadFactory = backgroundThreadFactory;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retryDelayMs = retryDelayMs;
+        this.claimTimeout = claimTimeout;
+        this.relayed = meterRegistry.counter("outbox.relayed");
+        this.failedBatches = meterRegistry.counter("outbox.relay.failures");
+        this.lag = meterRegistry.timer("outbox.lag"); // commit-to-delivery delay per event
+    }
+
+    // Called after a commit that added events
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    // Relay one batch; returns how many events were delivered
+    public int relayBatch() {
+        String token = UUID.randomUUID().toString();
+        List<OutboxEvent> batch = claim(token);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(batch);
+            } catch (IOException e) {
+                outboxEventRepository.release(token);
+                throw new UncheckedIOException("Outbox sink " + sink.name() + " failed", e);
+            } catch (RuntimeException e) {
+                outboxEventRepository.release(token);
+                throw e;
+            }
+        }
+        outboxEventRepository.deleteClaimed(token);
+        LocalDateTime now = LocalDateTime.now();
+        batch.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+        relayed.increment(batch.size());
+        return batch.size();
+    }
+
+    // Claim up to one batch and load it; committed before any sink runs
+    private List<OutboxEvent> claim(String token) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiredBefore = now.minus(claimTimeout);
+            List<Long> ids = outboxEventRepository.findClaimableIds(expiredBefore, Limit.of(batchSize));
+            if (ids.isEmpty() || outboxEventRepository.claim(ids, token, now, expiredBefore) == 0) {
+                return List.of();
+            }
+            return outboxEventRepository.findByClaimTokenOrderByIdAsc(token);
+        });
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (relayBatch() == batchSize) {
+                    continue; // more are waiting
+                }
+                wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeUps.drainPermits();
+            } catch (InterruptedException e) {
+                // Loop condition decides whether to keep relaying
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                logger.error("Failed to relay outbox events, retrying in {} ms", retryDelayMs, e);
+                pause(retryDelayMs);
+            }
+        }
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // Loop condition decides whether to keep relaying
+        }
+    }
+
+    @Override
+    public void start() {
+        if (sinks.isEmpty()) {
+            // Keep events in the outbox rather than deleting them undelivered
+            logger.warn("No outbox sinks configured; ticket events will accumulate in the outbox");
+            return;
+        }
+        logger.info("Relaying ticket events to {}", sinks.stream().map(OutboxSink::name).toList());
+        running = true;
+        worker = threadFactory.newThread(this::run);
+        worker.setName("outbox-relay");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // Finish the batch in flight; not interrupted, since that would close a virtual thread's JDBC socket
+        running = false;
+        wakeUps.release();
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+import com.example.ticketmanagement.repository.OutboxEventRepository;
+import com.example.ticketmanagement.response.TicketEvent;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records ticket events in the outbox table. Callers must already be in the transaction that makes the
+// change, so the event commits or rolls back with it; the relay is woken once that transaction commits.
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectWriter writer;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, OutboxRelay outboxRelay, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelay = outboxRelay;
+        // The SSE sequence is assigned after commit and means nothing here; the outbox id identifies events
+        this.writer = objectMapper.copy().addMixIn(TicketEvent.class, WithoutSequence.class).writer();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TicketEvent event) {
+        appendAll(List.of(event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<TicketEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (TicketEvent event : events) {
+            outboxEvents.add(new OutboxEvent(null, event.getType().name(), event.getTicketId(), toJson(event), now));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+
+    private String toJson(TicketEvent event) {
+        try {
+            return writer.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @JsonIgnoreProperties("sequence")
+    private abstract static class WithoutSequence {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+// Destination for relayed outbox events. Delivery is at least once: a batch is redelivered when a later sink
+// or the commit fails, so receivers should skip ids they have already seen. Events are not guaranteed to arrive
+// in the order they were committed, so receivers that need the latest state of a ticket should re-read it
+// rather than apply events in arrival order.
+public interface OutboxSink {
+
+    String name();
+
+    // Deliver one batch, sorted by id; throwing leaves the batch in the outbox for the next attempt
+    void deliver(List<OutboxEvent> events) throws IOException;
+}
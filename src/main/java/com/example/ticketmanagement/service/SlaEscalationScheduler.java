@@ -0,0 +1,197 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.config.SlaProperties;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.repository.TicketRepository.SlaCandidateView;
+import com.example.ticketmanagement.response.TicketEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+// Escalates tickets that stay NEW longer than their priority's SLA (ticket.sla.new-timeout.*).
+// Due times live in an in-memory delay queue: seeded once from the database at startup, then fed by the
+// write paths whenever a ticket enters NEW. Nothing is removed when a ticket leaves NEW; the escalation
+// UPDATE re-checks the ticket, so stale deadlines simply do nothing when they fire.
+@Service
+public class SlaEscalationScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlaEscalationScheduler.class);
+
+    private static final int SEED_PAGE_SIZE = 1000;
+
+    private final TicketRepository ticketRepository;
+    private final AuditLogService auditLogService;
+    private final TicketEventBus ticketEventBus;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final SlaProperties slaProperties;
+    private final ThreadFactory threadFactory;
+    private final MeterRegistry meterRegistry;
+    private final DelayQueue<Deadline> deadlines = new DelayQueue<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SlaEscalationScheduler(TicketRepository ticketRepository,
+                                  AuditLogService auditLogService,
+                                  TicketEventBus ticketEventBus,
+                                  OutboxService outboxService,
+                                  TransactionTemplate transactionTemplate,
+                                  SlaProperties slaProperties,
+                                  ThreadFactory backgroundThreadFactory,
+                                  MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.auditLogService = auditLogService;
+        this.ticketEventBus = ticketEventBus;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.slaProperties = slaProperties;
+        this.threadFactory = backgroundThreadFactory;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("tickets.sla.tracked", deadlines, DelayQueue::size).register(meterRegistry);
+    }
+
+    public void track(Ticket ticket) {
+        if (ticket.getStatus() == Status.NEW) {
+            track(ticket.getId(), ticket.getPriority(), ticket.getStatusChangedAt());
+        }
+    }
+
+    // Start the SLA clock for a ticket that entered NEW at the given time
+    public void track(Long ticketId, Priority priority, LocalDateTime enteredAt) {
+        Duration timeout = slaProperties.timeoutFor(priority);
+        if (timeout != null) {
+            deadlines.add(new Deadline(ticketId, priority, epochMillis(enteredAt.plus(timeout))));
+        }
+    }
+
+    // Number of deadlines waiting, including stale ones for tickets that already left NEW
+    public int tracked() {
+        return deadlines.size();
+    }
+
+    private void run() {
+        seed();
+        while (running) {
+            try {
+                // Timed wait so stop() is noticed without interrupting a database call
+                Deadline deadline = deadlines.poll(1, TimeUnit.SECONDS);
+                if (deadline != null) {
+                    escalate(deadline);
+                }
+            } catch (InterruptedException e) {
+                // Loop condition decides whether to keep going
+            }
+        }
+    }
+
+    // Load the deadlines of every open ticket once, page by page on the primary key
+    private void seed() {
+        if (slaProperties.getNewTimeout().isEmpty()) {
+            return;
+        }
+        long seeded = 0;
+        long afterId = 0L;
+        List<SlaCandidateView> page;
+        try {
+            do {
+                page = ticketRepository.findSlaCandidates(Status.NEW, slaProperties.getNewTimeout().keySet(),
+                        afterId, Limit.of(SEED_PAGE_SIZE));
+                for (SlaCandidateView candidate : page) {
+                    track(candidate.getId(), candidate.getPriority(), candidate.getEnteredAt());
+                    afterId = candidate.getId();
+                }
+                seeded += page.size();
+            } while (running && page.size() == SEED_PAGE_SIZE);
+            logger.info("Tracking SLA deadlines for {} open tickets", seeded);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load SLA deadlines after {} tickets", seeded, e);
+        }
+    }
+
+    private void escalate(Deadline deadline) {
+        Duration timeout = slaProperties.timeoutFor(deadline.priority());
+        if (timeout == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        TicketEvent escalated = TicketEvent.escalated(deadline.ticketId(), deadline.priority(), Status.NEW, now);
+        try {
+            boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (ticketRepository.escalate(deadline.ticketId(), Status.NEW, now.minus(timeout), now) != 1) {
+                    return false;
+                }
+                outboxService.append(escalated);
+                return true;
+            }));
+            if (applied) {
+                logger.warn("Escalated ticket {} ({} priority): NEW for more than {}", deadline.ticketId(), deadline.priority(), timeout);
+                auditLogService.logEscalation(deadline.ticketId(), deadline.priority(), timeout);
+                ticketEventBus.publish(escalated);
+                meterRegistry.counter("tickets.escalated", "priority", deadline.priority().name()).increment();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to escalate ticket {}, retrying in {}", deadline.ticketId(), slaProperties.getRetryDelay(), e);
+            deadlines.add(new Deadline(deadline.ticketId(), deadline.priority(),
+                    System.currentTimeMillis() + slaProperties.getRetryDelay().toMillis()));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = threadFactory.newThread(this::run);
+        worker.setName("sla-escalation");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Rounded up to the next millisecond so the escalation cutoff check always passes once the deadline fires
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 1;
+    }
+
+    private record Deadline(Long ticketId, Priority priority, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Deadline) other).dueAtMillis);
+        }
+    }
+}
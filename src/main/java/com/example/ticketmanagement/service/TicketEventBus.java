@@ -0,0 +1,144 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.response.TicketEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process fan-out of ticket changes to Server-Sent Events subscribers.
+// Publishing only appends to each subscriber's bounded buffer, so a slow client never delays a write path.
+// A subscriber whose buffer overflows loses the buffered events and receives a RESYNC event instead.
+@Service
+public class TicketEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventBus.class);
+
+    private final ThreadFactory threadFactory;
+    private final int bufferSize;
+    private final long heartbeatIntervalMs;
+    private final long streamTimeoutMs;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter droppedEvents;
+
+    public TicketEventBus(ThreadFactory backgroundThreadFactory,
+                          MeterRegistry meterRegistry,
+                          @Value("${ticket.events.buffer-size:1024}") int bufferSize,
+                          @Value("${ticket.events.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                          @Value("${ticket.events.stream-timeout-ms:1800000}") long streamTimeoutMs) {
+        this.threadFactory = backgroundThreadFactory;
+        this.bufferSize = bufferSize;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.streamTimeoutMs = streamTimeoutMs;
+        Gauge.builder("ticket.events.subscribers", subscriptions, Set::size).register(meterRegistry);
+        this.droppedEvents = meterRegistry.counter("ticket.events.dropped");
+    }
+
+    // Deliver an event to every subscriber; inside a transaction, only once it has committed
+    public void publish(TicketEvent event) {
+        TransactionHooks.afterCommit(() -> dispatch(event));
+    }
+
+    // Open a stream for one client; a sender thread per subscriber drains its buffer onto the connection
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscription subscription = new Subscription(emitter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        subscriptions.add(subscription);
+
+        Thread sender = threadFactory.newThread(subscription::deliver);
+        sender.setName("ticket-events-sender");
+        sender.start();
+        return emitter;
+    }
+
+    // Number of open streams
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    private void dispatch(TicketEvent event) {
+        event.setSequence(sequence.incrementAndGet());
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<TicketEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private volatile boolean open = true;
+
+        Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(TicketEvent event) {
+            if (!buffer.offer(event)) {
+                droppedEvents.increment();
+                overflowed.set(true);
+            }
+        }
+
+        void deliver() {
+            try {
+                while (open) {
+                    TicketEvent event = buffer.poll(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+                    if (overflowed.getAndSet(false)) {
+                        // Everything still buffered predates the reload the client is about to do
+                        buffer.clear();
+                        TicketEvent resync = TicketEvent.resync();
+                        resync.setSequence(sequence.get());
+                        send(resync);
+                    } else if (event != null) {
+                        send(event);
+                    } else {
+                        // Keeps proxies from closing an idle stream and detects closed connections
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the stream already completed
+                logger.debug("Ticket event stream closed: {}", e.getMessage());
+                emitter.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } finally {
+                close();
+            }
+        }
+
+        private void send(TicketEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getSequence()))
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        void close() {
+            open = false;
+            subscriptions.remove(this);
+        }
+    }
+}
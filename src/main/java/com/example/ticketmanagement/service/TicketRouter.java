@@ -0,0 +1,181 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AgentProfile;
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.AgentProfileRepository;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.repository.TicketRepository.AssigneeLoadView;
+import com.example.ticketmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Picks the IT Support agent for a new ticket by category skill and current load.
+// Open-ticket counts per agent are kept in memory: seeded from one GROUP BY before the server accepts
+// requests, maintained by the write paths, and periodically resynced to correct drift from other nodes.
+@Service
+public class TicketRouter implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketRouter.class);
+
+    public enum Strategy { LEAST_LOADED, ROUND_ROBIN, WEIGHTED }
+
+    private record Agent(Long id, int weight) {
+    }
+
+    // Agent lists as of one reload; a higher generation was started later and read newer data
+    private record AgentSnapshot(long generation, Map<Category, Agent[]> agentsByCategory) {
+    }
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final Agent[] NO_AGENTS = new Agent[0];
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final AgentProfileRepository agentProfileRepository;
+    private final MeterRegistry meterRegistry;
+    private final Strategy strategy;
+    // Eligible agents per category; replaced as a whole whenever agents or profiles change
+    private final AtomicReference<AgentSnapshot> agents = new AtomicReference<>(new AgentSnapshot(0, new EnumMap<>(Category.class)));
+    private final AtomicLong reloads = new AtomicLong();
+    private final Map<Long, AtomicInteger> openCounts = new ConcurrentHashMap<>();
+    // Rotating start position per category, for round robin and to spread ties between equally loaded agents
+    private final Map<Category, AtomicInteger> cursors = new EnumMap<>(Category.class);
+
+    public TicketRouter(TicketRepository ticketRepository,
+                        UserRepository userRepository,
+                        AgentProfileRepository agentProfileRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${ticket.routing.strategy:LEAST_LOADED}") Strategy strategy) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.agentProfileRepository = agentProfileRepository;
+        this.meterRegistry = meterRegistry;
+        this.strategy = strategy;
+        for (Category category : CATEGORIES) {
+            cursors.put(category, new AtomicInteger());
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        resync();
+    }
+
+    // Reload the agents and rebuild the open-ticket counts from the database
+    @Scheduled(initialDelayString = "${ticket.routing.resync-interval-ms:600000}", fixedDelayString = "${ticket.routing.resync-interval-ms:600000}")
+    public void resync() {
+        reloadAgents();
+        Map<Long, Integer> loads = new HashMap<>();
+        for (AssigneeLoadView row : ticketRepository.countOpenByAssignee(Status.RESOLVED)) {
+            loads.put(row.getAssigneeId(), (int) row.getCount());
+        }
+        openCounts.forEach((id, count) -> count.set(loads.getOrDefault(id, 0)));
+        loads.forEach((id, count) -> openCounts.computeIfAbsent(id, k -> new AtomicInteger()).set(count));
+        logger.info("Loaded open ticket counts for {} agents using {} routing", loads.size(), strategy);
+    }
+
+    // Rebuild the per-category agent lists; called after role and agent profile changes.
+    // Not locked: concurrent reloads each query on their own, and only a newer one may replace the lists
+    public void reloadAgents() {
+        long generation = reloads.incrementAndGet();
+        Map<Long, AgentProfile> profiles = new HashMap<>();
+        agentProfileRepository.findAll().forEach(profile -> profiles.put(profile.getUserId(), profile));
+
+        Map<Category, List<Agent>> lists = new EnumMap<>(Category.class);
+        for (User user : userRepository.findByRole(Role.ITSupport)) {
+            AgentProfile profile = profiles.get(user.getId());
+            if (profile != null && !profile.isAvailable()) {
+                continue;
+            }
+            Agent agent = new Agent(user.getId(), profile == null ? 1 : Math.max(profile.getWeight(), 1));
+            for (Category category : CATEGORIES) {
+                if (profile == null || profile.getSkills().isEmpty() || profile.getSkills().contains(category)) {
+                    lists.computeIfAbsent(category, c -> new ArrayList<>()).add(agent);
+                }
+            }
+        }
+
+        Map<Category, Agent[]> fresh = new EnumMap<>(Category.class);
+        lists.forEach((category, agents) -> fresh.put(category, agents.toArray(NO_AGENTS)));
+        AgentSnapshot snapshot = new AgentSnapshot(generation, fresh);
+        agents.accumulateAndGet(snapshot, (current, next) -> next.generation() > current.generation() ? next : current);
+    }
+
+    // Pick an agent for a new ticket and count it against them; null when no agent handles the category
+    public Long route(Category category) {
+        Category key = category == null ? Category.OTHER : category;
+        Agent[] agents = this.agents.get().agentsByCategory().getOrDefault(key, NO_AGENTS);
+        if (agents.length == 0) {
+            meterRegistry.counter("tickets.routed", "outcome", "unassigned").increment();
+            return null;
+        }
+        int start = Math.floorMod(cursors.get(key).getAndIncrement(), agents.length);
+        Agent chosen = strategy == Strategy.ROUND_ROBIN ? agents[start] : leastLoaded(agents, start);
+        openCounts.computeIfAbsent(chosen.id(), id -> new AtomicInteger()).incrementAndGet();
+        meterRegistry.counter("tickets.routed", "outcome", "assigned").increment();
+        return chosen.id();
+    }
+
+    // Give back the slot route() counted for a ticket that was never saved
+    public void unroute(Long agentId) {
+        AtomicInteger count = openCounts.get(agentId);
+        if (count != null) {
+            count.updateAndGet(open -> Math.max(open - 1, 0));
+        }
+    }
+
+    // Keep the assignee's load in step with a status change: resolving frees a slot, reopening takes one
+    public void statusChanged(Long assigneeId, Status oldStatus, Status newStatus) {
+        if (assigneeId == null || (oldStatus == Status.RESOLVED) == (newStatus == Status.RESOLVED)) {
+            return;
+        }
+        AtomicInteger count = openCounts.computeIfAbsent(assigneeId, id -> new AtomicInteger());
+        if (newStatus == Status.RESOLVED) {
+            count.updateAndGet(open -> Math.max(open - 1, 0));
+        } else {
+            count.incrementAndGet();
+        }
+    }
+
+    public int openTickets(Long agentId) {
+        AtomicInteger count = openCounts.get(agentId);
+        return count == null ? 0 : count.get();
+    }
+
+    // Lowest (open + 1) / weight wins, with all weights 1 unless WEIGHTED; scanning from a rotating
+    // start hands ties to a different agent each time
+    private Agent leastLoaded(Agent[] agents, int start) {
+        Agent best = null;
+        long bestLoad = 0;
+        long bestWeight = 1;
+        for (int i = 0; i < agents.length; i++) {
+            Agent agent = agents[(start + i) % agents.length];
+            long load = openTickets(agent.id()) + 1L;
+            long weight = strategy == Strategy.WEIGHTED ? agent.weight() : 1;
+            if (best == null || load * bestWeight < bestLoad * weight) {
+                best = agent;
+                bestLoad = load;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+}
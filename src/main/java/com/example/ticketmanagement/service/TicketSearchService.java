@@ -0,0 +1,401 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Comment;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.repository.CommentRepository;
+import com.example.ticketmanagement.repository.CommentRepository.CommentTextView;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.response.TicketSearchHit;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process Lucene index over ticket titles, descriptions and comments.
+// Tickets and comments are separate documents sharing ticketId and createdBy (the ticket's creator) fields;
+// hits are collapsed per ticket.
+// Writes come from TicketService/CommentService and become searchable on the next refresh.
+// A rebuild writes a separate index next to the live one and swaps it in with a single commit, so searches
+// never see a partial index and a crash mid-rebuild leaves the previous index (and its version) in place.
+@Service
+public class TicketSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketSearchService.class);
+
+    private static final String KEY = "key";
+    private static final String TICKET_ID = "ticketId";
+    private static final String CREATED_BY = "createdBy";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String CONTENT = "content";
+    private static final String[] SEARCH_FIELDS = {TITLE, DESCRIPTION, CONTENT};
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 3f, DESCRIPTION, 1f, CONTENT, 1f);
+
+    public static final int MAX_RESULTS = 100;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    // Stored in the index's commit data; an index written with another version is rebuilt on startup
+    private static final String VERSION_KEY = "version";
+    private static final String INDEX_VERSION = "2"; // 2: createdBy on every document
+
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final boolean rebuildOnStartup;
+    private final ThreadFactory threadFactory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Path rebuildPath;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Writes, refreshes and commits share the read side; the rebuild's swap takes the write side
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Index being rebuilt; writes made while it is built go to both indexes
+    private volatile IndexWriter rebuildWriter;
+
+    public TicketSearchService(TicketRepository ticketRepository,
+                               CommentRepository commentRepository,
+                               ThreadFactory backgroundThreadFactory,
+                               @Value("${ticket.search.index-path:data/ticket-index}") Path indexPath,
+                               @Value("${ticket.search.rebuild-on-startup:false}") boolean rebuildOnStartup) throws IOException {
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.threadFactory = backgroundThreadFactory;
+        this.rebuildPath = indexPath.resolveSibling(indexPath.getFileName() + "-rebuild");
+        this.directory = FSDirectory.open(indexPath);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // Add or replace the document for a ticket
+    public void indexTicket(Ticket ticket) {
+        update(ticketDocument(ticket));
+    }
+
+    public void indexComment(Comment comment) {
+        Ticket ticket = comment.getTicket();
+        update(commentDocument(comment.getId(), ticket.getId(),
+                ticket.getCreatedBy() == null ? null : ticket.getCreatedBy().getId(), comment.getContent()));
+    }
+
+    private static Document ticketDocument(Ticket ticket) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, "t" + ticket.getId(), Field.Store.NO));
+        doc.add(new StringField(TICKET_ID, ticket.getId().toString(), Field.Store.YES));
+        addCreator(doc, ticket.getCreatedBy() == null ? null : ticket.getCreatedBy().getId());
+        doc.add(new TextField(TITLE, nullToEmpty(ticket.getTitle()), Field.Store.YES));
+        doc.add(new TextField(DESCRIPTION, nullToEmpty(ticket.getDescription()), Field.Store.YES));
+        return doc;
+    }
+
+    private static Document commentDocument(Long commentId, Long ticketId, Long creatorId, String content) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, "c" + commentId, Field.Store.NO));
+        doc.add(new StringField(TICKET_ID, ticketId.toString(), Field.Store.YES));
+        addCreator(doc, creatorId);
+        doc.add(new TextField(CONTENT, nullToEmpty(content), Field.Store.YES));
+        return doc;
+    }
+
+    private void update(Document doc) {
+        Term key = new Term(KEY, doc.get(KEY));
+        swapLock.readLock().lock();
+        try {
+            writer.updateDocument(key, doc);
+            IndexWriter rebuilt = rebuildWriter;
+            if (rebuilt != null) {
+                rebuilt.updateDocument(key, doc);
+            }
+        } catch (IOException e) {
+            // The database write already succeeded; a rebuild will pick the document up
+            logger.error("Failed to index document {}", key.text(), e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Ranked search returning at most one hit per ticket, best match first; when creatorId is set, only
+    // tickets opened by that user (and their comments) are searched
+    public List<TicketSearchHit> search(String queryText, int limit, Long creatorId) throws IOException {
+        Query query = parse(queryText);
+        Query scoped = creatorId == null ? query : new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(CREATED_BY, creatorId.toString())), BooleanClause.Occur.FILTER)
+                .build();
+        int max = Math.min(Math.max(limit, 1), MAX_RESULTS);
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            // Over-fetch so that several comment hits on one ticket don't starve the result list
+            TopDocs topDocs = searcher.search(scoped, max * 5);
+            Map<Long, List<Document>> docsByTicket = new LinkedHashMap<>();
+            Map<Long, Float> scores = new LinkedHashMap<>();
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = searcher.storedFields().document(scoreDoc.doc);
+                Long ticketId = Long.valueOf(doc.get(TICKET_ID));
+                if (!docsByTicket.containsKey(ticketId) && docsByTicket.size() == max) {
+                    continue;
+                }
+                docsByTicket.computeIfAbsent(ticketId, id -> new ArrayList<>()).add(doc);
+                scores.putIfAbsent(ticketId, scoreDoc.score);
+            }
+
+            // Indexed text is escaped so only the <em> markers are HTML
+            Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), new QueryScorer(query));
+            List<TicketSearchHit> hits = new ArrayList<>(docsByTicket.size());
+            for (Entry<Long, List<Document>> entry : docsByTicket.entrySet()) {
+                String title = null;
+                List<String> highlights = new ArrayList<>();
+                for (Document doc : entry.getValue()) {
+                    if (doc.get(TITLE) != null) {
+                        title = doc.get(TITLE);
+                    }
+                    for (String field : SEARCH_FIELDS) {
+                        String fragment = highlight(highlighter, field, doc.get(field));
+                        if (fragment != null) {
+                            highlights.add(fragment);
+                        }
+                    }
+                }
+                if (title == null) {
+                    title = titleOf(searcher, entry.getKey());
+                }
+                hits.add(new TicketSearchHit(entry.getKey(), scores.get(entry.getKey()), title, highlights));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Re-read every ticket and comment from the database, page by page, into a fresh index, then replace the
+    // live index's contents with it. The live index keeps serving searches, unchanged, until the swap.
+    public void rebuild() throws IOException {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rebuild is already running");
+        }
+        try (Directory rebuildDirectory = FSDirectory.open(rebuildPath)) {
+            logger.info("Rebuilding ticket search index");
+            // CREATE discards whatever a rebuild that crashed left behind
+            IndexWriter rebuilt = new IndexWriter(rebuildDirectory,
+                    new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            rebuildWriter = rebuilt;
+            try {
+                long tickets = 0;
+                long afterId = 0L;
+                List<Ticket> ticketPage;
+                do {
+                    ticketPage = ticketRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(REBUILD_PAGE_SIZE));
+                    for (Ticket ticket : ticketPage) {
+                        Document doc = ticketDocument(ticket);
+                        rebuilt.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+                        afterId = ticket.getId();
+                    }
+                    tickets += ticketPage.size();
+                } while (ticketPage.size() == REBUILD_PAGE_SIZE);
+
+                long comments = 0;
+                afterId = 0L;
+                List<CommentTextView> commentPage;
+                do {
+                    commentPage = commentRepository.findTextAfter(afterId, Limit.of(REBUILD_PAGE_SIZE));
+                    for (CommentTextView comment : commentPage) {
+                        Document doc = commentDocument(comment.getId(), comment.getTicketId(), comment.getCreatorId(),
+                                comment.getContent());
+                        rebuilt.updateDocument(new Term(KEY, doc.get(KEY)), doc);
+                        afterId = comment.getId();
+                    }
+                    comments += commentPage.size();
+                } while (commentPage.size() == REBUILD_PAGE_SIZE);
+
+                swap(rebuilt, rebuildDirectory);
+                logger.info("Rebuilt ticket search index with {} tickets and {} comments", tickets, comments);
+            } finally {
+                // Still set only when the rebuild failed before the swap; the live index is untouched
+                if (rebuildWriter != null) {
+                    rebuildWriter = null;
+                    rebuilt.rollback();
+                }
+            }
+        } finally {
+            rebuilding.set(false);
+        }
+        IOUtils.rm(rebuildPath);
+    }
+
+    // Replace the live contents with the rebuilt index in one commit that also records the version. No write,
+    // refresh or commit runs in between, so neither searchers nor a restart can observe the emptied index.
+    private void swap(IndexWriter rebuilt, Directory rebuildDirectory) throws IOException {
+        swapLock.writeLock().lock();
+        try {
+            rebuildWriter = null;
+            rebuilt.close();
+            writer.deleteAll();
+            try {
+                writer.addIndexes(rebuildDirectory);
+            } catch (IOException | RuntimeException e) {
+                // The delete can't be taken back without closing the writer; drop the version so whatever gets
+                // committed from here on is rebuilt on the next start
+                writer.setLiveCommitData(Map.<String, String>of().entrySet());
+                throw e;
+            }
+            writer.setLiveCommitData(Map.of(VERSION_KEY, INDEX_VERSION).entrySet());
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    // Build the index from the database when it is missing (first start), was written by an older
+    // version, or when asked to
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNeeded() {
+        if (!rebuildOnStartup && writer.getDocStats().numDocs > 0 && INDEX_VERSION.equals(indexVersion())) {
+            return;
+        }
+        Thread thread = threadFactory.newThread(() -> {
+            try {
+                rebuild();
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to rebuild ticket search index", e);
+            }
+        });
+        thread.setName("ticket-index-rebuild");
+        thread.start();
+    }
+
+    // Make recent writes visible to searches
+    @Scheduled(fixedDelayString = "${ticket.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        swapLock.readLock().lock();
+        try {
+            searcherManager.maybeRefresh();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // Persist recent writes so a restart doesn't need a rebuild
+    @Scheduled(fixedDelayString = "${ticket.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        swapLock.readLock().lock();
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, BOOSTS);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            // Treat unparsable input (stray quotes, colons in error strings) as plain text
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + queryText, escaped);
+            }
+        }
+    }
+
+    private String highlight(Highlighter highlighter, String field, String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return highlighter.getBestFragment(analyzer, field, text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InvalidTokenOffsetsException e) {
+            return null;
+        }
+    }
+
+    private String indexVersion() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (VERSION_KEY.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void addCreator(Document doc, Long creatorId) {
+        if (creatorId != null) {
+            doc.add(new StringField(CREATED_BY, creatorId.toString(), Field.Store.NO));
+        }
+    }
+
+    private String titleOf(IndexSearcher searcher, Long ticketId) throws IOException {
+        TopDocs ticketDoc = searcher.search(new TermQuery(new Term(KEY, "t" + ticketId)), 1);
+        if (ticketDoc.scoreDocs.length == 0) {
+            return null;
+        }
+        return searcher.storedFields().document(ticketDoc.scoreDocs[0].doc).get(TITLE);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -1,39 +1,129 @@
 package com.example.ticketmanagement.service;
 
 import com.example.ticketmanagement.model.*;
+import com.example.ticketmanagement.repository.CommentRepository;
 import com.example.ticketmanagement.repository.TicketRepository;
-import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.repository.TicketRepository.TicketStatusView;
+import com.example.ticketmanagement.repository.TicketSpecifications;
+import com.example.ticketmanagement.request.BulkStatusUpdateRequest;
 import com.example.ticketmanagement.request.TicketRequest;
+import com.example.ticketmanagement.request.TicketSearchCriteria;
+import com.example.ticketmanagement.response.BulkCreateResult;
+import com.example.ticketmanagement.response.BulkStatusUpdateResult;
+import com.example.ticketmanagement.response.BulkStatusUpdateResult.Outcome;
+import com.example.ticketmanagement.response.TicketEvent;
+import com.example.ticketmanagement.response.TicketSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.security.access.AccessDeniedException;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 @Service
 public class TicketService {
 
     private static final Logger logger = LoggerFactory.getLogger(TicketService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BULK_SIZE = 10000;
+    // Properties clients may sort searches by
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "creationDate", "priority", "status", "category");
+    // Tickets inserted per transaction by the bulk import
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    // Statuses an agent's queue shows by default
+    private static final List<Status> OPEN_STATUSES = List.of(Status.NEW, Status.IN_PROGRESS);
+
 
     @Autowired
     private TicketRepository ticketRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserService userService;
 
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private TicketSearchService ticketSearchService;
+
+    @Autowired
+    private TicketStatisticsService ticketStatisticsService;
+
+    @Autowired
+    private TicketEventBus ticketEventBus;
+
+    @Autowired
+    private TicketWorkflow ticketWorkflow;
+
+    @Autowired
+    private SlaEscalationScheduler slaEscalationScheduler;
+
+    @Autowired
+    private TicketRouter ticketRouter;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ticket.status-update.max-attempts:3}")
+    private int statusUpdateMaxAttempts;
+
+    @Value("${ticket.status-update.backoff-ms:10}")
+    private long statusUpdateBackoffMs;
+
+    // The ticket and its outbox event commit together
+    @Timed(value = "tickets.create")
+    @Transactional
     public Ticket createTicket(TicketRequest ticketRequest, Long employeeId) {
         logger.info("Creating ticket for user ID: {}", employeeId);
 
         // Check if the user exists
-        Optional<User> userOptional = userRepository.findById(employeeId);
+        Optional<User> userOptional = userService.findUserById(employeeId);
         if (userOptional.isEmpty()) {
             logger.error("User not found with ID: {}", employeeId);
             throw new AccessDeniedException("User not found");
@@ -51,30 +141,175 @@ public class TicketService {
         // Create the Ticket entity and map fields from TicketRequest
         logger.info("User is an Employee, proceeding with ticket creation...");
 
+        Ticket ticket = toTicket(ticketRequest, user);
+        assign(ticket);
+
+        // Save the ticket and return it
+        Ticket savedTicket = ticketRepository.save(ticket);
+        logger.info("Ticket saved successfully with ID: {}", savedTicket.getId());
+        TicketEvent created = TicketEvent.created(savedTicket);
+        outboxService.append(created);
+        ticketEventBus.publish(created);
+        TransactionHooks.afterCommit(() -> ticketCreated(savedTicket));
+
+        return savedTicket;
+    }
+
+    // Bulk-create tickets from an already parsed JSON array
+    @Timed(value = "tickets.create.bulk")
+    public BulkCreateResult createTickets(List<TicketRequest> ticketRequests, Long employeeId) {
+        User user = requireEmployee(employeeId);
+        BulkCreateResult result = new BulkCreateResult();
+        List<Ticket> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Integer> rows = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        for (int row = 0; row < ticketRequests.size(); row++) {
+            addRow(ticketRequests.get(row), row, user, chunk, rows, result);
+        }
+        insertChunk(chunk, rows, result);
+        meterRegistry.summary("tickets.bulk.size", "operation", "create").record(ticketRequests.size());
+        logger.info("Bulk created {} tickets for user {} ({} rejected)", result.getCreated().size(), employeeId, result.getErrors().size());
+        return result;
+    }
+
+    // Bulk-create tickets from newline-delimited JSON, one TicketRequest per line, without buffering the whole body
+    @Timed(value = "tickets.import")
+    public BulkCreateResult importTickets(BufferedReader ndjson, Long employeeId) throws IOException {
+        User user = requireEmployee(employeeId);
+        BulkCreateResult result = new BulkCreateResult();
+        List<Ticket> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        List<Integer> rows = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int row = 0;
+        String line;
+        while ((line = ndjson.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                addRow(objectMapper.readValue(line, TicketRequest.class), row, user, chunk, rows, result);
+            } catch (JsonProcessingException e) {
+                result.getErrors().add(new BulkCreateResult.RowError(row, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+            row++;
+        }
+        insertChunk(chunk, rows, result);
+        meterRegistry.summary("tickets.bulk.size", "operation", "import").record(row);
+        logger.info("Imported {} tickets for user {} ({} rejected)", result.getCreated().size(), employeeId, result.getErrors().size());
+        return result;
+    }
+
+    // Validate one row and queue it, inserting the chunk once it is full
+    private void addRow(TicketRequest ticketRequest, int row, User user, List<Ticket> chunk, List<Integer> rows, BulkCreateResult result) {
+        String error = validate(ticketRequest);
+        if (error != null) {
+            result.getErrors().add(new BulkCreateResult.RowError(row, error));
+            return;
+        }
+        chunk.add(toTicket(ticketRequest, user));
+        rows.add(row);
+        if (chunk.size() == IMPORT_CHUNK_SIZE) {
+            insertChunk(chunk, rows, result);
+        }
+    }
+
+    // Each chunk and its outbox events are one transaction, sent as JDBC batches
+    private void insertChunk(List<Ticket> chunk, List<Integer> rows, BulkCreateResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Assigned inside the transaction so a failed chunk gives its router slots back
+        List<Ticket> saved = transactionTemplate.execute(status -> {
+            chunk.forEach(this::assign);
+            List<Ticket> inserted = ticketRepository.saveAll(chunk);
+            outboxService.appendAll(inserted.stream().map(TicketEvent::created).toList());
+            return inserted;
+        });
+        // Committed by now
+        for (int i = 0; i < saved.size(); i++) {
+            result.getCreated().add(new BulkCreateResult.CreatedTicket(rows.get(i), saved.get(i).getId()));
+            ticketEventBus.publish(TicketEvent.created(saved.get(i)));
+            ticketCreated(saved.get(i));
+        }
+        chunk.clear();
+        rows.clear();
+        entityManager.clear();
+    }
+
+    private static String validate(TicketRequest ticketRequest) {
+        if (ticketRequest == null) {
+            return "Ticket is required";
+        }
+        if (ticketRequest.getTitle() == null || ticketRequest.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (ticketRequest.getPriority() == null) {
+            return "Priority is required";
+        }
+        if (ticketRequest.getCategory() == null) {
+            return "Category is required";
+        }
+        return null;
+    }
+
+    // Map the fields from a TicketRequest onto a new Ticket created by the given user
+    private static Ticket toTicket(TicketRequest ticketRequest, User user) {
         Ticket ticket = new Ticket();
         ticket.setTitle(ticketRequest.getTitle());
         ticket.setDescription(ticketRequest.getDescription());
         ticket.setPriority(ticketRequest.getPriority());
         ticket.setCategory(ticketRequest.getCategory());
-        ticket.setCreationDate(ticketRequest.getCreationDate());
-        ticket.setStatus(ticketRequest.getStatus());
+        ticket.setCreationDate(ticketRequest.getCreationDate() != null ? ticketRequest.getCreationDate() : LocalDateTime.now());
+        ticket.setStatus(ticketRequest.getStatus() != null ? ticketRequest.getStatus() : Status.NEW);
+        ticket.setStatusChangedAt(ticket.getCreationDate());
+        if (ticket.getStatus() == Status.IN_PROGRESS || ticket.getStatus() == Status.RESOLVED) {
+            ticket.setInProgressAt(ticket.getCreationDate());
+        }
+        if (ticket.getStatus() == Status.RESOLVED) {
+            ticket.setResolvedAt(ticket.getCreationDate());
+        }
 
         // Set the Employee (creator) of the ticket
         ticket.setCreatedBy(user);
+        return ticket;
+    }
 
-        // Save the ticket and return it
-        Ticket savedTicket = ticketRepository.save(ticket);
-        logger.info("Ticket saved successfully with ID: {}", savedTicket.getId());
+    // Hand an open ticket to the agent picked by the router; tickets imported as resolved stay unassigned.
+    // The router counts the ticket right away, so the count is given back if the insert rolls back.
+    private void assign(Ticket ticket) {
+        if (ticket.getStatus() == Status.RESOLVED) {
+            return;
+        }
+        Long agentId = ticketRouter.route(ticket.getCategory());
+        if (agentId != null) {
+            TransactionHooks.afterRollback(() -> ticketRouter.unroute(agentId));
+            ticket.setAssignedTo(userService.findUserById(agentId).orElse(null));
+        }
+    }
 
-        return savedTicket;
+    // In-memory bookkeeping for a committed new ticket
+    private void ticketCreated(Ticket ticket) {
+        ticketSearchService.indexTicket(ticket);
+        ticketStatisticsService.ticketCreated(ticket);
+        slaEscalationScheduler.track(ticket);
+        countCreated(ticket);
     }
 
+    private User requireEmployee(Long employeeId) {
+        User user = userService.findUserById(employeeId)
+                .orElseThrow(() -> new AccessDeniedException("User not found"));
+        if (user.getRole() != Role.Employee) {
+            throw new AccessDeniedException("Only employees can create tickets");
+        }
+        return user;
+    }
 
 
 
-    public List<Ticket> getAllTickets(Long userId) {
+
+    @Timed(value = "tickets.list")
+    @Transactional(readOnly = true)
+    public List<Ticket> getAllTickets(Long userId, LocalDateTime since, Long afterId, Integer size) {
         // Check if the user exists
-        Optional<User> userOptional = userRepository.findById(userId);
+        Optional<User> userOptional = userService.findUserById(userId);
         if (userOptional.isEmpty()) {
             throw new AccessDeniedException("User not found");
         }
@@ -86,16 +321,40 @@ public class TicketService {
             throw new AccessDeniedException("Only IT Support can access all tickets");
         }
 
-        // Return all tickets
-        return ticketRepository.findAll();
+        // Return one keyset page of tickets in id order, or of the tickets changed after the (since, afterId) watermark
+        if (since != null) {
+            return ticketRepository.findChangedAfter(since, cursor(afterId), Limit.of(pageSize(size)));
+        }
+        return ticketRepository.findByIdGreaterThanOrderByIdAsc(cursor(afterId), Limit.of(pageSize(size)));
+    }
+
+    // One keyset page of the tickets assigned to an agent, open ones unless other statuses are asked for
+    @Timed(value = "tickets.assigned")
+    @Transactional(readOnly = true)
+    public List<Ticket> getAssignedTickets(Long userId, List<Status> statuses, Long afterId, Integer size) {
+        User user = userService.findUserById(userId)
+                .orElseThrow(() -> new AccessDeniedException("User not found"));
+        if (user.getRole() != Role.ITSupport) {
+            throw new AccessDeniedException("Only IT Support has assigned tickets");
+        }
+        return ticketRepository.findByAssignedToIdAndStatusInAndIdGreaterThanOrderByIdAsc(userId,
+                statuses == null || statuses.isEmpty() ? OPEN_STATUSES : statuses, cursor(afterId), Limit.of(pageSize(size)));
     }
 
 
 
 
     public Ticket updateTicketStatus(Long ticketId, Status newStatus, Long userId) {
+        return updateTicketStatus(ticketId, newStatus, null, userId);
+    }
+
+    // Compare-and-set on the ticket's version: the UPDATE only applies if nobody changed the ticket since
+    // it was read, so the audited old status is always the one actually replaced. Lost races are re-read
+    // and retried; with an expectedVersion from the client there is no retry, a stale view is a conflict.
+    @Timed(value = "tickets.status.update")
+    public Ticket updateTicketStatus(Long ticketId, Status newStatus, Long expectedVersion, Long userId) {
         // Check if the user exists
-        Optional<User> userOptional = userRepository.findById(userId);
+        Optional<User> userOptional = userService.findUserById(userId);
         if (userOptional.isEmpty()) {
             throw new AccessDeniedException("User not found");
         }
@@ -107,28 +366,199 @@ public class TicketService {
             throw new AccessDeniedException("Only IT Support can update ticket status");
         }
 
-        // Retrieve the ticket
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        for (int attempt = 1; ; attempt++) {
+            // Retrieve the ticket
+            Ticket ticket = ticketRepository.findById(ticketId)
+                    .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
+            if (expectedVersion != null && ticket.getVersion() != expectedVersion) {
+                meterRegistry.counter("tickets.status.update.conflicts", "outcome", "stale").increment();
+                throw new OptimisticLockingFailureException("Ticket " + ticketId + " is at version "
+                        + ticket.getVersion() + ", not " + expectedVersion);
+            }
+            if (ticket.getStatus() == newStatus) {
+                return ticket;
+            }
+
+            Status oldStatus = ticket.getStatus();
+            LocalDateTime now = LocalDateTime.now();
+            ticketWorkflow.checkTransition(oldStatus, newStatus, ticket.getResolvedAt(), now);
+            TicketEvent statusChanged = TicketEvent.statusChanged(ticketId, ticket.getPriority(), ticket.getCategory(),
+                    oldStatus, newStatus, user.getId());
+            // The compare-and-set and its outbox event commit together; the retry backoff runs outside
+            boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (ticketRepository.compareAndSetStatus(ticketId, ticket.getVersion(), newStatus, now) != 1) {
+                    return false;
+                }
+                outboxService.append(statusChanged);
+                return true;
+            }));
+            if (applied) {
+                // Committed by now; log the status change
+                auditLogService.logStatusChange(ticketId, user, oldStatus, newStatus);
+                recordTimeInState(oldStatus, ticket.getStatusChangedAt(), now);
+                ticketRouter.statusChanged(ticket.getAssignedTo() == null ? null : ticket.getAssignedTo().getId(), oldStatus, newStatus);
+                if (newStatus == Status.NEW) {
+                    slaEscalationScheduler.track(ticketId, ticket.getPriority(), now);
+                }
+                ticketStatisticsService.statusChanged(ticket.getPriority(), ticket.getCategory(), oldStatus, newStatus);
+                ticketEventBus.publish(statusChanged);
+                countStatusChange(oldStatus, newStatus, 1);
+                return ticketRepository.findById(ticketId).orElse(ticket);
+            }
+
+            // Another agent or node changed the ticket between our read and our write
+            if (expectedVersion != null || attempt == statusUpdateMaxAttempts) {
+                meterRegistry.counter("tickets.status.update.conflicts", "outcome", "failed").increment();
+                throw new OptimisticLockingFailureException("Ticket " + ticketId + " was modified concurrently");
+            }
+            meterRegistry.counter("tickets.status.update.conflicts", "outcome", "retried").increment();
+            backOff(attempt);
+        }
+    }
+
+    // Jittered exponential backoff so agents racing on a hot ticket don't retry in lockstep
+    private void backOff(int attempt) {
+        long delay = statusUpdateBackoffMs << (attempt - 1);
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException("Interrupted while retrying status update");
+        }
+    }
 
-        // Save the old status before updating
-        Status oldStatus = ticket.getStatus();
-        ticket.setStatus(newStatus);
+    // Move many tickets to one status in a single transaction: one select for the current
+    // statuses, one UPDATE per distinct old status, and one batch of audit rows
+    @Timed(value = "tickets.status.update.bulk")
+    @Transactional
+    public BulkStatusUpdateResult updateTicketStatuses(BulkStatusUpdateRequest request, Long userId) {
+        User user = userService.findUserById(userId)
+                .orElseThrow(() -> new AccessDeniedException("User not found"));
 
-        // Save the updated ticket
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        if (user.getRole() != Role.ITSupport) {
+            throw new AccessDeniedException("Only IT Support can update ticket status");
+        }
 
-        // Log the status change
-        auditLogService.logStatusChange(ticketId, user, oldStatus, newStatus);
+        Status newStatus = request.getNewStatus();
+        if (newStatus == null) {
+            throw new IllegalArgumentException("newStatus is required");
+        }
 
-        return updatedTicket;
+        // Resolve the target tickets, either given explicitly or selected by their current status
+        List<Long> ticketIds;
+        Long nextCursor = null;
+        if (request.getTicketIds() != null && !request.getTicketIds().isEmpty()) {
+            ticketIds = request.getTicketIds().stream().distinct().toList();
+        } else if (request.getCurrentStatus() != null) {
+            // One more than a request handles, to tell whether the selection continues past this block
+            ticketIds = ticketRepository.findIdsByStatus(request.getCurrentStatus(), cursor(request.getAfterId()), Limit.of(MAX_BULK_SIZE + 1));
+            if (ticketIds.size() > MAX_BULK_SIZE) {
+                ticketIds = ticketIds.subList(0, MAX_BULK_SIZE);
+                nextCursor = ticketIds.get(MAX_BULK_SIZE - 1);
+            }
+        } else {
+            throw new IllegalArgumentException("Either ticketIds or currentStatus is required");
+        }
+        if (ticketIds.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " tickets can be updated at once");
+        }
+        logger.info("Bulk updating {} tickets to {} by user {}", ticketIds.size(), newStatus, userId);
+
+        // Group the tickets that need a change by their current status
+        Map<Long, TicketStatusView> views = new HashMap<>();
+        Map<Long, Status> currentStatuses = new HashMap<>();
+        for (TicketStatusView view : ticketRepository.findStatusesByIdIn(ticketIds)) {
+            views.put(view.getId(), view);
+            currentStatuses.put(view.getId(), view.getStatus());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Status, List<Long>> byOldStatus = new EnumMap<>(Status.class);
+        Map<Long, Outcome> conflicts = new HashMap<>();
+        currentStatuses.forEach((id, status) -> {
+            if (status != newStatus && (request.getCurrentStatus() == null || status == request.getCurrentStatus())) {
+                if (ticketWorkflow.isAllowed(status, newStatus, views.get(id).getResolvedAt(), now)) {
+                    byOldStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+                } else {
+                    conflicts.put(id, Outcome.REJECTED);
+                }
+            }
+        });
+
+        // Set-based update per old status; the status predicate keeps concurrent changes out of the audit trail
+        Map<Long, Status> changed = new LinkedHashMap<>();
+        byOldStatus.forEach((oldStatus, ids) -> {
+            int rows = ticketRepository.updateStatus(ids, oldStatus, newStatus, now);
+            if (rows == ids.size()) {
+                ids.forEach(id -> changed.put(id, oldStatus));
+            } else {
+                // Someone else moved some of these tickets in between; find out which ones we actually changed
+                Map<Long, Status> after = new HashMap<>();
+                ticketRepository.findStatusesByIdIn(ids).forEach(view -> after.put(view.getId(), view.getStatus()));
+                for (Long id : ids) {
+                    if (after.get(id) == newStatus) {
+                        changed.put(id, oldStatus);
+                    } else {
+                        conflicts.put(id, Outcome.CONFLICT);
+                    }
+                }
+            }
+        });
+
+        if (!changed.isEmpty()) {
+            auditLogService.logStatusChanges(changed, user, newStatus);
+            List<TicketEvent> events = new ArrayList<>(changed.size());
+            changed.forEach((id, oldStatus) -> {
+                TicketStatusView view = views.get(id);
+                // Delivered after commit
+                TicketEvent event = TicketEvent.statusChanged(id, view.getPriority(), view.getCategory(),
+                        oldStatus, newStatus, user.getId());
+                events.add(event);
+                ticketEventBus.publish(event);
+            });
+            outboxService.appendAll(events);
+            // Loads, counters and SLA timers only move once the updates are durable
+            TransactionHooks.afterCommit(() -> {
+                changed.forEach((id, oldStatus) -> {
+                    TicketStatusView view = views.get(id);
+                    recordTimeInState(oldStatus, view.getStatusChangedAt(), now);
+                    ticketRouter.statusChanged(view.getAssignedToId(), oldStatus, newStatus);
+                    if (newStatus == Status.NEW) {
+                        slaEscalationScheduler.track(id, view.getPriority(), now);
+                    }
+                    ticketStatisticsService.statusChanged(view.getPriority(), view.getCategory(), oldStatus, newStatus);
+                });
+                byOldStatus.keySet().forEach(oldStatus -> countStatusChange(oldStatus, newStatus,
+                        changed.values().stream().filter(status -> status == oldStatus).count()));
+            });
+        }
+        meterRegistry.summary("tickets.bulk.size", "operation", "status-update").record(ticketIds.size());
+
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult();
+        result.setNextCursor(nextCursor);
+        for (Long id : ticketIds) {
+            if (changed.containsKey(id)) {
+                result.add(id, Outcome.UPDATED);
+            } else if (conflicts.containsKey(id)) {
+                result.add(id, conflicts.get(id));
+            } else if (!currentStatuses.containsKey(id)) {
+                result.add(id, Outcome.NOT_FOUND);
+            } else if (currentStatuses.get(id) == newStatus) {
+                result.add(id, Outcome.UNCHANGED);
+            } else {
+                // Explicit id whose status didn't match the currentStatus filter
+                result.add(id, Outcome.CONFLICT);
+            }
+        }
+        return result;
     }
 
+    @Timed(value = "tickets.by-employee")
+    @Transactional(readOnly = true)
     public List<Ticket> getTicketsByEmployee(Long employeeId) {
         logger.info("Fetching tickets for employee ID: {}", employeeId);
 
         // Check if the user exists
-        Optional<User> userOptional = userRepository.findById(employeeId);
+        Optional<User> userOptional = userService.findUserById(employeeId);
         if (userOptional.isEmpty()) {
             logger.error("User not found with ID: {}", employeeId);
             throw new AccessDeniedException("User not found");
@@ -146,49 +576,124 @@ public class TicketService {
         // Fetch tickets associated with the employee
         logger.info("User is an Employee, fetching tickets...");
 
-        return ticketRepository.findByCreatedById(employeeId);
+        return ticketRepository.findByCreatedByIdOrderByCreationDateDesc(employeeId);
     }
 
-    public List<Ticket> getTickets(Long ticketId, Status status) {
-        logger.info("Fetching tickets with ticket ID: {} and status: {}", ticketId, status);
-
-        // Log inputs for better visibility
-        if (ticketId == null) {
-            logger.debug("Ticket ID is null.");
-        } else {
-            logger.debug("Ticket ID: {}", ticketId);
+    // Dynamic search compiled to one SQL query. Without a sort, pages are keyset-seeked on id (afterId);
+    // with a sort, pages are addressed by number and fetched without a count query.
+    @Timed(value = "tickets.filter")
+    @Transactional(readOnly = true)
+    public List<Ticket> getTickets(TicketSearchCriteria criteria, Long afterId, Integer page, Integer size, Sort sort) {
+        logger.info("Fetching tickets matching {} after: {} page: {} sort: {}", criteria, afterId, page, sort);
+
+        int pageSize = pageSize(size);
+        if (sort == null || sort.isUnsorted()) {
+            logger.debug("Querying by keyset on id");
+            Specification<Ticket> spec = TicketSpecifications.matching(criteria).and(TicketSpecifications.idAfter(cursor(afterId)));
+            return ticketRepository.findBy(spec, query -> query.project("createdBy", "assignedTo")
+                    .sortBy(Sort.by("id"))
+                    .limit(pageSize)
+                    .all());
         }
 
-        if (status == null) {
-            logger.debug("Status is null.");
-        } else {
-            logger.debug("Status: {}", status);
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+            }
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
         }
+        logger.debug("Querying page {} sorted by {}", pageNumber, sort);
+        ScrollPosition position = pageNumber == 0 ? ScrollPosition.offset() : ScrollPosition.offset((long) pageNumber * pageSize - 1);
+        Specification<Ticket> spec = TicketSpecifications.matching(criteria).and(TicketSpecifications.orderedBy(sort.and(Sort.by("id"))));
+        return ticketRepository.findBy(spec, query -> query.project("createdBy", "assignedTo")
+                .limit(pageSize)
+                .scroll(position))
+                .getContent();
+    }
 
-        // If both ticketId and status are provided
-        if (ticketId != null && status != null) {
-            logger.debug("Querying by both ticketId and status");
-            return ticketRepository.findByIdAndStatus(ticketId, status);
+    // Summary pages: one query per page plus one grouped comment count, no creator or comment fan-out
+    @Timed(value = "tickets.summary")
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getTicketSummaries(Status status, Long afterId, Integer size) {
+        logger.info("Fetching ticket summaries with status: {} after: {}", status, afterId);
+        List<TicketSummary> summaries = status == null
+                ? ticketRepository.findSummaries(cursor(afterId), Limit.of(pageSize(size)))
+                : ticketRepository.findSummariesByStatus(status, cursor(afterId), Limit.of(pageSize(size)));
+        if (!summaries.isEmpty()) {
+            Map<Long, TicketSummary> byId = new HashMap<>();
+            summaries.forEach(summary -> byId.put(summary.getId(), summary));
+            commentRepository.countByTicketIdIn(byId.keySet())
+                    .forEach(row -> byId.get(row.getTicketId()).setCommentCount(row.getCount()));
         }
-        // If only ticketId is provided
-        else if (ticketId != null) {
-            logger.debug("Querying by ticketId only");
-            // Handle Optional and return a list
-            Optional<Ticket> ticketOptional = ticketRepository.findById(ticketId);
-            return ticketOptional.map(Collections::singletonList) // Convert to list if present
-                    .orElse(Collections.emptyList()); // Return empty list if not present
+        return summaries;
+    }
+
+    // Walk every ticket matching the criteria page by page, handing each one to the consumer.
+    // Each page is read in its own short read-only transaction and handed over after it commits, so a slow
+    // consumer never pins a connection or snapshot. The persistence context is cleared after each page so
+    // memory stays flat regardless of table size.
+    @Timed(value = "tickets.stream", longTask = true)
+    public void streamTickets(TicketSearchCriteria criteria, Consumer<Ticket> consumer) {
+        Specification<Ticket> spec = TicketSpecifications.matching(criteria);
+        TransactionTemplate readPage = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readPage.setReadOnly(true);
+        readPage.setName(TicketService.class.getName() + ".streamTickets");
+        long afterId = 0L;
+        List<Ticket> page;
+        do {
+            Specification<Ticket> pageSpec = spec.and(TicketSpecifications.idAfter(afterId));
+            page = readPage.execute(status -> ticketRepository.findBy(pageSpec, query -> query.project("createdBy", "assignedTo")
+                    .sortBy(Sort.by("id"))
+                    .limit(MAX_PAGE_SIZE)
+                    .all()));
+            for (Ticket ticket : page) {
+                consumer.accept(ticket);
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+            entityManager.clear();
+        } while (page.size() == MAX_PAGE_SIZE);
+    }
+
+    private void countCreated(Ticket ticket) {
+        meterRegistry.counter("tickets.opened",
+                "priority", String.valueOf(ticket.getPriority()),
+                "category", String.valueOf(ticket.getCategory())).increment();
+    }
+
+    // How long tickets stay in each status, recorded when they leave it
+    private void recordTimeInState(Status status, LocalDateTime enteredAt, LocalDateTime leftAt) {
+        if (enteredAt == null) {
+            return; // tickets created before per-state timestamps existed
         }
-        // If only status is provided
-        else if (status != null) {
-            logger.debug("Querying by status only");
-            return ticketRepository.findByStatus(status);
+        meterRegistry.timer("tickets.status.time-in-state", "status", String.valueOf(status))
+                .record(Duration.between(enteredAt, leftAt));
+    }
+
+    private void countStatusChange(Status oldStatus, Status newStatus, long count) {
+        meterRegistry.counter("tickets.status.changes",
+                "from", String.valueOf(oldStatus),
+                "to", String.valueOf(newStatus)).increment(count);
+    }
+
+    // Resolve the id to seek past; a missing cursor starts from the beginning
+    private static long cursor(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
+
+    // Clamp the requested page size to [1, MAX_PAGE_SIZE]
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
         }
-        // If neither is provided, return all tickets
-        else {
-            logger.debug("Querying all tickets as no filters are provided");
-            List<Ticket> tickets = ticketRepository.findAll();
-            return tickets.isEmpty() ? Collections.emptyList() : tickets;
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
         }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
 
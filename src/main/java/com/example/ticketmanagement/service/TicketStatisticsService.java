@@ -0,0 +1,116 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.repository.TicketRepository.TicketCountView;
+import com.example.ticketmanagement.response.TicketStatistics;
+import com.example.ticketmanagement.response.TicketStatistics.TicketCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ticket counts per (status, priority, category), kept in memory so the dashboard never scans the table.
+// Seeded from one GROUP BY before the server accepts requests, then maintained by the write paths.
+// A periodic resync corrects drift from writes made by other nodes or directly in the database.
+@Service
+public class TicketStatisticsService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketStatisticsService.class);
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final Category[] CATEGORIES = Category.values();
+    // Slot 0 of each dimension holds tickets where that field is null
+    private static final int PRIORITY_SLOTS = PRIORITIES.length + 1;
+    private static final int CATEGORY_SLOTS = CATEGORIES.length + 1;
+    private static final int SLOTS = (STATUSES.length + 1) * PRIORITY_SLOTS * CATEGORY_SLOTS;
+
+    private final TicketRepository ticketRepository;
+    private volatile LongAdder[] counters = newCounters();
+
+    public TicketStatisticsService(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        resync();
+    }
+
+    // Rebuild the counters from the database
+    @Scheduled(initialDelayString = "${ticket.stats.resync-interval-ms:600000}", fixedDelayString = "${ticket.stats.resync-interval-ms:600000}")
+    public void resync() {
+        LongAdder[] fresh = newCounters();
+        for (TicketCountView row : ticketRepository.countByStatusPriorityCategory()) {
+            fresh[slot(row.getStatus(), row.getPriority(), row.getCategory())].add(row.getCount());
+        }
+        counters = fresh;
+        logger.info("Loaded ticket statistics");
+    }
+
+    public void ticketCreated(Ticket ticket) {
+        counters[slot(ticket.getStatus(), ticket.getPriority(), ticket.getCategory())].increment();
+    }
+
+    public void statusChanged(Priority priority, Category category, Status oldStatus, Status newStatus) {
+        LongAdder[] current = counters;
+        current[slot(oldStatus, priority, category)].decrement();
+        current[slot(newStatus, priority, category)].increment();
+    }
+
+    public TicketStatistics getStatistics() {
+        LongAdder[] current = counters;
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        for (Status status : STATUSES) {
+            byStatus.put(status, 0L);
+        }
+        List<TicketCount> counts = new ArrayList<>();
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long count = current[slot].sum();
+            if (count == 0) {
+                continue;
+            }
+            Status status = valueAt(STATUSES, slot / (PRIORITY_SLOTS * CATEGORY_SLOTS));
+            Priority priority = valueAt(PRIORITIES, slot / CATEGORY_SLOTS % PRIORITY_SLOTS);
+            Category category = valueAt(CATEGORIES, slot % CATEGORY_SLOTS);
+            counts.add(new TicketCount(status, priority, category, count));
+            if (status != null) {
+                byStatus.merge(status, count, Long::sum);
+            }
+            total += count;
+        }
+        return new TicketStatistics(total, byStatus, counts);
+    }
+
+    private static int slot(Status status, Priority priority, Category category) {
+        return (ordinal(status) * PRIORITY_SLOTS + ordinal(priority)) * CATEGORY_SLOTS + ordinal(category);
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    private static <E> E valueAt(E[] values, int slot) {
+        return slot == 0 ? null : values[slot - 1];
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] adders = new LongAdder[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
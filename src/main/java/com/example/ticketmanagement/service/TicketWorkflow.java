@@ -0,0 +1,40 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Validates status changes against the transition table in Status and evaluates its guards.
+// Checks are constant-time and allocation-free; the only guard is the reopen window for RESOLVED tickets.
+@Component
+public class TicketWorkflow {
+
+    private final Duration reopenWindow;
+
+    public TicketWorkflow(@Value("${ticket.workflow.reopen-window:14d}") Duration reopenWindow) {
+        this.reopenWindow = reopenWindow;
+    }
+
+    public boolean isAllowed(Status from, Status to, LocalDateTime resolvedAt, LocalDateTime now) {
+        if (from == null) {
+            return true; // legacy rows without a status
+        }
+        if (!from.canTransitionTo(to)) {
+            return false;
+        }
+        if (from.isGuardedTransitionTo(to)) {
+            // Reopen: tickets resolved before the window need a new ticket instead
+            return resolvedAt == null || !resolvedAt.plus(reopenWindow).isBefore(now);
+        }
+        return true;
+    }
+
+    public void checkTransition(Status from, Status to, LocalDateTime resolvedAt, LocalDateTime now) {
+        if (!isAllowed(from, to, resolvedAt, now)) {
+            throw new InvalidStatusTransitionException(from, to);
+        }
+    }
+}
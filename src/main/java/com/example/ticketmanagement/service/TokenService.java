@@ -0,0 +1,86 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.response.TokenResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Issues and refreshes signed tokens. Access tokens carry everything the request path needs
+// (user id, name, role), so validating them never touches the database or BCrypt.
+@Service
+public class TokenService {
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
+    private final JwtEncoder jwtEncoder;
+    private final JwtDecoder jwtDecoder;
+    private final UserService userService;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public TokenService(JwtEncoder jwtEncoder,
+                        JwtDecoder jwtDecoder,
+                        UserService userService,
+                        @Value("${security.jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                        @Value("${security.jwt.refresh-token-ttl:7d}") Duration refreshTokenTtl) {
+        this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder;
+        this.userService = userService;
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    // Issue an access/refresh token pair for a user who just proved their password
+    public TokenResponse issueTokens(User user) {
+        Instant now = Instant.now();
+        String accessToken = encode(user, ACCESS_TYPE, now, accessTokenTtl);
+        String refreshToken = encode(user, REFRESH_TYPE, now, refreshTokenTtl);
+        return new TokenResponse(accessToken, refreshToken, "Bearer", accessTokenTtl.toSeconds());
+    }
+
+    // Exchange a refresh token for a new pair; the user is re-read so role changes and deletions take effect
+    public TokenResponse refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid refresh token", e);
+        }
+        if (!REFRESH_TYPE.equals(jwt.getClaimAsString(TYPE_CLAIM))) {
+            throw new BadCredentialsException("Not a refresh token");
+        }
+        Long userId = ((Number) jwt.getClaim(USER_ID_CLAIM)).longValue();
+        User user = userService.findUserById(userId)
+                .orElseThrow(() -> new BadCredentialsException("User no longer exists"));
+        return issueTokens(user);
+    }
+
+    private String encode(User user, String type, Instant issuedAt, Duration ttl) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(user.getName())
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(ttl))
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, String.valueOf(user.getRole()))
+                .claim(TYPE_CLAIM, type)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
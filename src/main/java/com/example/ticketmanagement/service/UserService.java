@@ -1,8 +1,15 @@
 package com.example.ticketmanagement.service;
 
+import com.example.ticketmanagement.config.CacheConfig;
+import com.example.ticketmanagement.model.AgentProfile;
 import com.example.ticketmanagement.model.MyUserDetails;
+import com.example.ticketmanagement.model.Role;
 import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.AgentProfileRepository;
 import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.request.AgentProfileRequest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,23 +19,34 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @Service
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final AgentProfileRepository agentProfileRepository;
+    private final TicketRouter ticketRouter;
     private final BCryptPasswordEncoder encoder;
+    private final Cache usersById;
+    private final Cache usersByName;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, AgentProfileRepository agentProfileRepository,
+                       TicketRouter ticketRouter, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.agentProfileRepository = agentProfileRepository;
+        this.ticketRouter = ticketRouter;
         this.encoder = new BCryptPasswordEncoder();
+        this.usersById = cacheManager.getCache(CacheConfig.USERS_BY_ID);
+        this.usersByName = cacheManager.getCache(CacheConfig.USERS_BY_NAME);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByName(username);
+        User user = usersByName.get(username, () -> userRepository.findByName(username));
         if (user == null) {
             throw new UsernameNotFoundException("User not found: " + username);
         }
@@ -37,7 +55,42 @@ public class UserService implements UserDetailsService {
 
     public User addUser(User user) {
         user.setPassword(encoder.encode(user.getPassword())); // Encrypt password
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        evict(savedUser);
+        if (savedUser.getRole() == Role.ITSupport) {
+            ticketRouter.reloadAgents(); // New agents start receiving tickets right away
+        }
+        return savedUser;
+    }
+
+    // Change a user's role; cached copies are dropped so the new role applies on the next request
+    public User updateRole(Long id, Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("User not found with id: " + id));
+        user.setRole(role);
+        User savedUser = userRepository.save(user);
+        evict(savedUser);
+        ticketRouter.reloadAgents();
+        return savedUser;
+    }
+
+    // Set the categories, weight and availability the router uses for an IT Support agent
+    public AgentProfile updateAgentProfile(Long userId, AgentProfileRequest request) {
+        User user = getUserById(userId);
+        if (user.getRole() != Role.ITSupport) {
+            throw new IllegalArgumentException("Only IT Support users have an agent profile");
+        }
+        if (request.getWeight() != null && request.getWeight() < 1) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+        AgentProfile profile = agentProfileRepository.findById(userId).orElseGet(AgentProfile::new);
+        profile.setUserId(userId);
+        profile.setSkills(request.getSkills() == null ? new HashSet<>() : new HashSet<>(request.getSkills()));
+        profile.setWeight(request.getWeight() == null ? 1 : request.getWeight());
+        profile.setAvailable(request.getAvailable() == null || request.getAvailable());
+        AgentProfile savedProfile = agentProfileRepository.save(profile);
+        ticketRouter.reloadAgents();
+        return savedProfile;
     }
 
     public List<User> getUsers() {
@@ -45,22 +98,37 @@ public class UserService implements UserDetailsService {
     }
 
     public User getUserById(Long id) {
-        return userRepository.findById(id)
+        return findUserById(id)
                 .orElseThrow(() -> new NoSuchElementException("User not found with id: " + id));
     }
 
+    // Cached lookup used by the services on every ticket and comment operation
+    public Optional<User> findUserById(Long id) {
+        User user = usersById.get(id, () -> userRepository.findById(id).orElse(null));
+        if (user == null) {
+            // A miss may come from a replica that hasn't caught up yet, so it isn't cached
+            usersById.evict(id);
+        }
+        return Optional.ofNullable(user);
+    }
+
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
-            // The principal is the authenticated user
+            // The token principal only carries id, name and role; load the full user from the cache
             MyUserDetails userDetails = (MyUserDetails) authentication.getPrincipal();
-            return userDetails.getUser();  // Assuming MyUserDetails has a method to get the User
+            return getUserById(userDetails.getUser().getId());
         }
 
         // Return null or throw an exception if no authenticated user found
         throw new RuntimeException("No authenticated user found");
     }
 
+    private void evict(User user) {
+        usersById.evict(user.getId());
+        usersByName.evict(user.getName());
+    }
+
 
 }
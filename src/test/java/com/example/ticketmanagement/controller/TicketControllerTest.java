@@ -0,0 +1,234 @@
+package com.example.ticketmanagement.controller;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.MyUserDetails;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.request.BulkStatusUpdateRequest;
+import com.example.ticketmanagement.request.TicketRequest;
+import com.example.ticketmanagement.service.TicketService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TicketControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+    private User employee;
+    private User agent;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        employee = newUser(Role.Employee);
+        agent = newUser(Role.ITSupport);
+    }
+
+    @Test
+    void staleExpectedVersionIsAConflict() throws Exception {
+        Ticket ticket = createTicket();
+
+        mockMvc.perform(put("/api/tickets/update-status/{id}", ticket.getId())
+                        .param("newStatus", "IN_PROGRESS")
+                        .param("expectedVersion", String.valueOf(ticket.getVersion() + 1))
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put("/api/tickets/update-status/{id}", ticket.getId())
+                        .param("newStatus", "IN_PROGRESS")
+                        .param("expectedVersion", String.valueOf(ticket.getVersion()))
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.version").value(ticket.getVersion() + 1));
+    }
+
+    @Test
+    void disallowedTransitionIsUnprocessable() throws Exception {
+        Ticket ticket = createTicket();
+        ticketService.updateTicketStatus(ticket.getId(), Status.RESOLVED, agent.getId());
+
+        mockMvc.perform(put("/api/tickets/update-status/{id}", ticket.getId())
+                        .param("newStatus", "NEW")
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void bulkStatusUpdateReportsOutcomesAndRejectsARequestWithoutNewStatus() throws Exception {
+        Ticket fresh = createTicket();
+        Ticket started = createTicket();
+        ticketService.updateTicketStatus(started.getId(), Status.IN_PROGRESS, agent.getId());
+
+        mockMvc.perform(put("/api/tickets/update-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkStatusUpdateRequest(
+                                List.of(fresh.getId(), started.getId()), null, null, Status.IN_PROGRESS)))
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[0].ticketId").value(fresh.getId()))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("UNCHANGED"));
+
+        mockMvc.perform(put("/api/tickets/update-status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkStatusUpdateRequest(
+                                List.of(fresh.getId()), null, null, null)))
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void fullPagesAdvertiseTheNextCursor() throws Exception {
+        Ticket first = createTicket();
+        Ticket second = createTicket();
+
+        mockMvc.perform(get("/api/tickets/all")
+                        .param("after", String.valueOf(first.getId() - 1))
+                        .param("size", "1")
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(first.getId())));
+
+        mockMvc.perform(get("/api/tickets/filter")
+                        .param("createdBy", String.valueOf(employee.getId()))
+                        .param("after", String.valueOf(first.getId()))
+                        .param("size", "2")
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(second.getId()))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void ndjsonExportStreamsOneTicketPerLineInIdOrder() throws Exception {
+        Ticket first = createTicket();
+        Ticket second = createTicket();
+
+        MvcResult started = mockMvc.perform(get("/api/tickets/filter")
+                        .param("createdBy", String.valueOf(employee.getId()))
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Ticket> streamed = objectMapper.readerFor(Ticket.class).<Ticket>readValues(body).readAll();
+        assertThat(streamed).extracting(Ticket::getId).containsExactly(first.getId(), second.getId());
+        assertThat(body.lines()).hasSize(2);
+    }
+
+    @Test
+    void deltaPagesCarryTheWatermarkToResumeFrom() throws Exception {
+        LocalDateTime start = LocalDateTime.now();
+        createTicket();
+        createTicket();
+        // As stored, so the expected watermarks carry the database's timestamp precision
+        List<Ticket> changed = ticketService.getAllTickets(agent.getId(), start, null, 2);
+        Ticket first = changed.get(0);
+        Ticket second = changed.get(1);
+
+        String watermark = mockMvc.perform(get("/api/tickets/all")
+                        .param("since", start.toString())
+                        .param("size", "1")
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(first.getId()))
+                .andExpect(header().string("X-Watermark", first.getLastModified() + "," + first.getId()))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Watermark");
+
+        mockMvc.perform(get("/api/tickets/all")
+                        .param("since", watermark)
+                        .param("size", "1")
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(second.getId()))
+                .andExpect(header().string("X-Watermark", second.getLastModified() + "," + second.getId()));
+    }
+
+    @Test
+    void ticketJsonCarriesOnlyTheIdAndNameOfItsUsers() throws Exception {
+        Ticket ticket = createTicket();
+        ticket.setAssignedTo(agent);
+        ticketRepository.save(ticket);
+
+        mockMvc.perform(get("/api/tickets/all")
+                        .param("after", String.valueOf(ticket.getId() - 1))
+                        .param("size", "1")
+                        .with(user(new MyUserDetails(agent))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].assignedTo.id").value(agent.getId()))
+                .andExpect(jsonPath("$[0].assignedTo.name").value(agent.getName()))
+                .andExpect(jsonPath("$[0].assignedTo.password").doesNotExist())
+                .andExpect(jsonPath("$[0].assignedTo.email").doesNotExist())
+                .andExpect(jsonPath("$[0].assignedTo.role").doesNotExist())
+                .andExpect(jsonPath("$[0].createdBy.name").value(employee.getName()))
+                .andExpect(jsonPath("$[0].createdBy.password").doesNotExist());
+    }
+
+    private Ticket createTicket() {
+        TicketRequest request = new TicketRequest();
+        request.setTitle("Keyboard missing keys");
+        request.setPriority(Priority.MEDIUM);
+        request.setCategory(Category.HARDWARE);
+        return ticketService.createTicket(request, employee.getId());
+    }
+
+    private User newUser(Role role) {
+        String name = role + "-" + UUID.randomUUID();
+        return userRepository.save(new User(null, name, name + "@example.com", "hash", role));
+    }
+}
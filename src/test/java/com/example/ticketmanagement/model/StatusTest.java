@@ -0,0 +1,35 @@
+package com.example.ticketmanagement.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusTest {
+
+    @Test
+    void allowsTheWorkflowTransitions() {
+        assertThat(Status.NEW.canTransitionTo(Status.IN_PROGRESS)).isTrue();
+        assertThat(Status.NEW.canTransitionTo(Status.RESOLVED)).isTrue();
+        assertThat(Status.IN_PROGRESS.canTransitionTo(Status.NEW)).isTrue();
+        assertThat(Status.IN_PROGRESS.canTransitionTo(Status.RESOLVED)).isTrue();
+        assertThat(Status.RESOLVED.canTransitionTo(Status.IN_PROGRESS)).isTrue();
+    }
+
+    @Test
+    void rejectsEverythingElse() {
+        assertThat(Status.RESOLVED.canTransitionTo(Status.NEW)).isFalse();
+        for (Status status : Status.values()) {
+            assertThat(status.canTransitionTo(status)).as("%s -> %s", status, status).isFalse();
+        }
+    }
+
+    @Test
+    void onlyReopeningIsGuarded() {
+        for (Status from : Status.values()) {
+            for (Status to : Status.values()) {
+                boolean reopen = from == Status.RESOLVED && to == Status.IN_PROGRESS;
+                assertThat(from.isGuardedTransitionTo(to)).as("%s -> %s", from, to).isEqualTo(reopen);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ticketmanagement.repository;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Claim, release and delete against the shared test database; only the events saved here are looked at
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxEventRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final LocalDateTime EXPIRED_BEFORE = NOW.minusMinutes(5);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = outboxEventRepository.saveAll(List.of(event(), event())).stream().map(OutboxEvent::getId).toList();
+    }
+
+    @Test
+    void eachRowGoesToOneClaim() {
+        assertThat(outboxEventRepository.claim(ids, "first", NOW, EXPIRED_BEFORE)).isEqualTo(2);
+        assertThat(outboxEventRepository.claim(ids, "second", NOW, EXPIRED_BEFORE)).isZero();
+
+        assertThat(outboxEventRepository.findByClaimTokenOrderByIdAsc("first")).extracting(OutboxEvent::getId)
+                .containsExactlyElementsOf(ids);
+        assertThat(outboxEventRepository.findClaimableIds(EXPIRED_BEFORE, Limit.unlimited())).doesNotContainAnyElementsOf(ids);
+    }
+
+    @Test
+    void expiredClaimsAreTakenOver() {
+        outboxEventRepository.claim(ids, "stalled", NOW.minusMinutes(10), NOW.minusMinutes(15));
+
+        assertThat(outboxEventRepository.findClaimableIds(EXPIRED_BEFORE, Limit.unlimited())).containsAll(ids);
+        assertThat(outboxEventRepository.claim(ids, "takeover", NOW, EXPIRED_BEFORE)).isEqualTo(2);
+        // The stalled relay finishing late no longer owns the rows
+        assertThat(outboxEventRepository.deleteClaimed("stalled")).isZero();
+        assertThat(outboxEventRepository.deleteClaimed("takeover")).isEqualTo(2);
+        assertThat(outboxEventRepository.findAllById(ids)).isEmpty();
+    }
+
+    @Test
+    void releasedRowsAreClaimableAgain() {
+        outboxEventRepository.claim(ids, "failed", NOW, EXPIRED_BEFORE);
+
+        assertThat(outboxEventRepository.release("failed")).isEqualTo(2);
+
+        assertThat(outboxEventRepository.findClaimableIds(EXPIRED_BEFORE, Limit.unlimited())).containsAll(ids);
+    }
+
+    private static OutboxEvent event() {
+        return new OutboxEvent(null, "TICKET_CREATED", 1L, "{}", NOW);
+    }
+}
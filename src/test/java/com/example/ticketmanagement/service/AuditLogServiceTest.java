@@ -0,0 +1,79 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AuditEventType;
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.example.ticketmanagement.request.AuditLogSearchCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogServiceTest {
+
+    private static final LocalDateTime CHANGED = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Test
+    void pagesNewestFirstAndSeekPastCreationDateThenId() {
+        Long ticketId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        // The middle two share a timestamp, so only the id tells them apart
+        AuditLog oldest = entry(ticketId, CHANGED, Status.NEW, Status.IN_PROGRESS);
+        AuditLog tiedLower = entry(ticketId, CHANGED.plusMinutes(1), Status.IN_PROGRESS, Status.NEW);
+        AuditLog tiedHigher = entry(ticketId, CHANGED.plusMinutes(1), Status.NEW, Status.IN_PROGRESS);
+        AuditLog newest = entry(ticketId, CHANGED.plusMinutes(2), Status.IN_PROGRESS, Status.RESOLVED);
+        AuditLogSearchCriteria criteria = new AuditLogSearchCriteria();
+        criteria.setTicketId(ticketId);
+
+        List<AuditLog> page1 = auditLogService.findAuditLogs(criteria, null, null, 2);
+        AuditLog last = page1.get(1);
+        List<AuditLog> page2 = auditLogService.findAuditLogs(criteria, last.getCreationDate(), last.getId(), 2);
+        last = page2.get(1);
+        List<AuditLog> page3 = auditLogService.findAuditLogs(criteria, last.getCreationDate(), last.getId(), 2);
+
+        assertThat(page1).extracting(AuditLog::getId).containsExactly(newest.getId(), tiedHigher.getId());
+        assertThat(page2).extracting(AuditLog::getId).containsExactly(tiedLower.getId(), oldest.getId());
+        assertThat(page3).isEmpty();
+    }
+
+    @Test
+    void filtersCombineWithTheCursor() {
+        Long ticketId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        AuditLog started = entry(ticketId, CHANGED, Status.NEW, Status.IN_PROGRESS);
+        entry(ticketId, CHANGED.plusMinutes(1), Status.IN_PROGRESS, Status.RESOLVED);
+        AuditLog reopened = entry(ticketId, CHANGED.plusMinutes(2), Status.RESOLVED, Status.IN_PROGRESS);
+        AuditLogSearchCriteria criteria = new AuditLogSearchCriteria();
+        criteria.setTicketId(ticketId);
+        criteria.setNewStatus(List.of(Status.IN_PROGRESS));
+
+        List<AuditLog> page1 = auditLogService.findAuditLogs(criteria, null, null, 1);
+        List<AuditLog> page2 = auditLogService.findAuditLogs(criteria, page1.get(0).getCreationDate(), page1.get(0).getId(), 1);
+
+        assertThat(page1).extracting(AuditLog::getId).containsExactly(reopened.getId());
+        assertThat(page2).extracting(AuditLog::getId).containsExactly(started.getId());
+    }
+
+    private AuditLog entry(Long ticketId, LocalDateTime creationDate, Status oldStatus, Status newStatus) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setEventType(AuditEventType.STATUS_CHANGED);
+        auditLog.setTicketId(ticketId);
+        auditLog.setCreationDate(creationDate);
+        auditLog.setOldStatus(oldStatus);
+        auditLog.setNewStatus(newStatus);
+        return auditLogRepository.save(auditLog);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AuditEventType;
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path deadLetters;
+    private final List<Long> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        deadLetters = tempDir.resolve("dead-letter.ndjson");
+        lenient().when(auditLogRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("batch failed"));
+        // Ticket 2 is the bad row: it fails on every attempt, the others go through on their own
+        lenient().doAnswer(invocation -> {
+            AuditLog auditLog = invocation.getArgument(0);
+            if (auditLog.getTicketId() == 2L) {
+                throw new DataIntegrityViolationException("row failed");
+            }
+            saved.add(auditLog.getTicketId());
+            return auditLog;
+        }).when(auditLogRepository).save(any(AuditLog.class));
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowAndOnlyTheBadRowIsDeadLettered() throws IOException {
+        AuditLogWriter writer = writer(AuditLogWriter.Mode.ASYNC);
+        writer.start();
+
+        writer.write(entry(1L));
+        writer.write(entry(2L));
+        writer.write(entry(3L));
+        writer.stop();
+
+        assertThat(saved).containsExactly(1L, 3L);
+        List<String> lines = Files.readAllLines(deadLetters);
+        assertThat(lines).singleElement().satisfies(line -> assertThat(line)
+                .contains("\"ticketId\":2")
+                .contains("\"newStatus\":\"IN_PROGRESS\""));
+    }
+
+    @Test
+    void syncCallerLearnsItsRowWasDeadLettered() {
+        AuditLogWriter writer = writer(AuditLogWriter.Mode.SYNC);
+        writer.start();
+        try {
+            writer.write(entry(1L));
+            assertThatThrownBy(() -> writer.write(entry(2L))).isInstanceOf(CompletionException.class);
+        } finally {
+            writer.stop();
+        }
+
+        assertThat(saved).containsExactly(1L);
+        assertThat(deadLetters).exists();
+    }
+
+    @Test
+    void entriesWrittenAfterStopAreSavedInline() {
+        AuditLogWriter writer = writer(AuditLogWriter.Mode.ASYNC);
+        writer.start();
+        writer.stop();
+
+        writer.write(entry(1L));
+
+        assertThat(saved).containsExactly(1L);
+        assertThat(writer.pending()).isZero();
+    }
+
+    private AuditLogWriter writer(AuditLogWriter.Mode mode) {
+        return new AuditLogWriter(auditLogRepository, new SimpleMeterRegistry(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), Thread::new, mode, 100, 10, 10, 50, 2,
+                deadLetters);
+    }
+
+    private static AuditLog entry(Long ticketId) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setTicketId(ticketId);
+        auditLog.setEventType(AuditEventType.STATUS_CHANGED);
+        auditLog.setOldStatus(Status.NEW);
+        auditLog.setNewStatus(Status.IN_PROGRESS);
+        auditLog.setCreationDate(LocalDateTime.of(2024, 3, 1, 9, 0));
+        return auditLog;
+    }
+}
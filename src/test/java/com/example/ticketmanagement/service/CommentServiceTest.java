@@ -0,0 +1,140 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AuditEventType;
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Comment;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.example.ticketmanagement.repository.CommentRepository;
+import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.request.TicketRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CommentServiceTest {
+
+    private static final LocalDateTime POSTED = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User employee;
+    private User agent;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        employee = newUser(Role.Employee);
+        agent = newUser(Role.ITSupport);
+        TicketRequest request = new TicketRequest();
+        request.setTitle("Monitor flickers");
+        request.setPriority(Priority.LOW);
+        request.setCategory(Category.HARDWARE);
+        ticket = ticketService.createTicket(request, employee.getId());
+    }
+
+    @Test
+    void pagesSeekPastCreatedAtThenId() {
+        // The middle two share a timestamp, so only the id tells them apart
+        Comment first = comment(POSTED);
+        Comment second = comment(POSTED.plusMinutes(1));
+        Comment third = comment(POSTED.plusMinutes(1));
+        Comment fourth = comment(POSTED.plusMinutes(2));
+
+        List<Comment> page1 = commentService.getComments(ticket.getId(), null, null, 2, agent.getId());
+        Comment last = page1.get(1);
+        List<Comment> page2 = commentService.getComments(ticket.getId(), last.getCreatedAt(), last.getId(), 2, agent.getId());
+        last = page2.get(1);
+        List<Comment> page3 = commentService.getComments(ticket.getId(), last.getCreatedAt(), last.getId(), 2, agent.getId());
+
+        assertThat(page1).extracting(Comment::getId).containsExactly(first.getId(), second.getId());
+        assertThat(page2).extracting(Comment::getId).containsExactly(third.getId(), fourth.getId());
+        assertThat(page3).isEmpty();
+    }
+
+    @Test
+    void addedCommentsAreReadableByTheTicketCreator() {
+        Comment added = commentService.addComment(ticket.getId(), "Swapped the cable", agent.getId());
+
+        List<Comment> comments = commentService.getComments(ticket.getId(), null, null, null, employee.getId());
+
+        assertThat(comments).extracting(Comment::getId).containsExactly(added.getId());
+    }
+
+    @Test
+    void committedCommentsAreAudited() {
+        Comment added = commentService.addComment(ticket.getId(), "Replaced the fan", agent.getId());
+
+        assertThat(auditLogRepository.findByTicketId(ticket.getId()))
+                .filteredOn(entry -> entry.getEventType() == AuditEventType.COMMENT_ADDED)
+                .extracting(AuditLog::getCommentId)
+                .containsExactly(added.getId());
+    }
+
+    @Test
+    void rolledBackCommentsLeaveNoAuditEntry() {
+        transactionTemplate.executeWithoutResult(status -> {
+            commentService.addComment(ticket.getId(), "Never happened", agent.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(commentService.getComments(ticket.getId(), null, null, null, agent.getId())).isEmpty();
+        assertThat(auditLogRepository.findByTicketId(ticket.getId()))
+                .noneMatch(entry -> entry.getEventType() == AuditEventType.COMMENT_ADDED);
+    }
+
+    @Test
+    void otherEmployeesCannotReadTheThread() {
+        User stranger = newUser(Role.Employee);
+
+        assertThatThrownBy(() -> commentService.getComments(ticket.getId(), null, null, null, stranger.getId()))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private Comment comment(LocalDateTime createdAt) {
+        Comment comment = new Comment();
+        comment.setTicket(ticket);
+        comment.setCreatedBy(agent);
+        comment.setContent("Looking into it");
+        comment.setCreatedAt(createdAt);
+        return commentRepository.save(comment);
+    }
+
+    private User newUser(Role role) {
+        String name = role + "-" + UUID.randomUUID();
+        return userRepository.save(new User(null, name, name + "@example.com", "hash", role));
+    }
+}
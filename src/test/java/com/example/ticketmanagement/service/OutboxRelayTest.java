@@ -0,0 +1,137 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.OutboxEvent;
+import com.example.ticketmanagement.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final List<Long> IDS = List.of(1L, 2L);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OutboxSink logSink;
+
+    @Mock
+    private OutboxSink webhookSink;
+
+    private final ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            inTransaction.set(true);
+            try {
+                return callback.doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        }).when(transactionTemplate).execute(any());
+        relay = new OutboxRelay(outboxEventRepository, List.of(logSink, webhookSink), transactionTemplate,
+                Thread::new, new SimpleMeterRegistry(), 2, 1000, 5000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void deliversOutsideTheClaimTransactionThenDeletesTheClaim() throws IOException {
+        List<OutboxEvent> batch = List.of(event(1L), event(2L));
+        claim(batch);
+        doAnswer(invocation -> {
+            assertThat(inTransaction).as("transaction open during delivery").isFalse();
+            return null;
+        }).when(webhookSink).deliver(batch);
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        InOrder order = inOrder(logSink, webhookSink, outboxEventRepository);
+        order.verify(logSink).deliver(batch);
+        order.verify(webhookSink).deliver(batch);
+        order.verify(outboxEventRepository).deleteClaimed(claimToken.getValue());
+        verify(outboxEventRepository, never()).release(anyString());
+    }
+
+    @Test
+    void releasesTheClaimWhenASinkFails() throws IOException {
+        List<OutboxEvent> batch = List.of(event(1L));
+        claim(batch);
+        when(webhookSink.name()).thenReturn("webhook");
+        doThrow(new IOException("connection refused")).when(webhookSink).deliver(batch);
+
+        assertThatThrownBy(() -> relay.relayBatch())
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("webhook");
+
+        verify(logSink).deliver(batch); // redelivered with the batch on the next attempt
+        verify(outboxEventRepository).release(claimToken.getValue());
+        verify(outboxEventRepository, never()).deleteClaimed(anyString());
+    }
+
+    @Test
+    void deliversNothingWhenAnotherRelayClaimedTheRowsFirst() throws IOException {
+        when(outboxEventRepository.findClaimableIds(any(), eq(Limit.of(2)))).thenReturn(IDS);
+        when(outboxEventRepository.claim(eq(IDS), anyString(), any(), any())).thenReturn(0);
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(logSink, never()).deliver(any());
+        verify(outboxEventRepository, never()).deleteClaimed(anyString());
+    }
+
+    @Test
+    void emptyOutboxDeliversNothing() throws IOException {
+        when(outboxEventRepository.findClaimableIds(any(), eq(Limit.of(2)))).thenReturn(List.of());
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(outboxEventRepository, never()).claim(any(), anyString(), any(), any());
+        verify(logSink, never()).deliver(any());
+    }
+
+    // Let the relay claim the given batch; the token it claims it under ends up in claimToken
+    private void claim(List<OutboxEvent> batch) {
+        when(outboxEventRepository.findClaimableIds(any(), eq(Limit.of(2)))).thenReturn(IDS);
+        when(outboxEventRepository.claim(eq(IDS), claimToken.capture(), any(), any())).thenReturn(batch.size());
+        when(outboxEventRepository.findByClaimTokenOrderByIdAsc(anyString())).thenReturn(batch);
+    }
+
+    private static OutboxEvent event(Long id) {
+        return new OutboxEvent(id, "TICKET_CREATED", id, "{}", LocalDateTime.now());
+    }
+}
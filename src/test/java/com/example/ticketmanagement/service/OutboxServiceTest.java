@@ -0,0 +1,93 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.OutboxEvent;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.OutboxEventRepository;
+import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.request.TicketRequest;
+import com.example.ticketmanagement.response.TicketEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The test profile configures no sinks, so the relay never starts and appended events stay in the table
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        String name = "Employee-" + UUID.randomUUID();
+        employee = userRepository.save(new User(null, name, name + "@example.com", "hash", Role.Employee));
+    }
+
+    @Test
+    void createdTicketCommitsWithItsEvent() {
+        Ticket ticket = ticketService.createTicket(request(), employee.getId());
+
+        assertThat(events(ticket.getId())).singleElement().satisfies(event -> {
+            assertThat(event.getEventType()).isEqualTo(TicketEvent.Type.CREATED.name());
+            assertThat(event.getPayload()).contains("\"ticketId\":" + ticket.getId()).doesNotContain("sequence");
+        });
+    }
+
+    @Test
+    void rolledBackTicketLeavesNoEvent() {
+        Long ticketId = transactionTemplate.execute(status -> {
+            Long id = ticketService.createTicket(request(), employee.getId()).getId();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertThat(events(ticketId)).isEmpty();
+    }
+
+    @Test
+    void appendingOutsideATransactionIsRefused() {
+        assertThatThrownBy(() -> outboxService.append(TicketEvent.resync()))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private List<OutboxEvent> events(Long ticketId) {
+        return outboxEventRepository.findAll().stream().filter(event -> ticketId.equals(event.getTicketId())).toList();
+    }
+
+    private static TicketRequest request() {
+        TicketRequest request = new TicketRequest();
+        request.setTitle("Docking station dead");
+        request.setPriority(Priority.MEDIUM);
+        request.setCategory(Category.HARDWARE);
+        return request;
+    }
+}
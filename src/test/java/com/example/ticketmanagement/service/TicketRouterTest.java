@@ -0,0 +1,142 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AgentProfile;
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.AgentProfileRepository;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.repository.TicketRepository.AssigneeLoadView;
+import com.example.ticketmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketRouterTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AgentProfileRepository agentProfileRepository;
+
+    private final List<AgentProfile> profiles = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findByRole(Role.ITSupport)).thenReturn(List.of(agent(1L), agent(2L)));
+        when(agentProfileRepository.findAll()).thenReturn(profiles);
+    }
+
+    @Test
+    void leastLoadedPicksTheAgentWithFewestOpenTickets() {
+        TicketRouter router = router(TicketRouter.Strategy.LEAST_LOADED, load(1L, 3), load(2L, 1));
+
+        assertThat(router.route(Category.NETWORK)).isEqualTo(2L);
+        assertThat(router.route(Category.NETWORK)).isEqualTo(2L);
+        assertThat(router.openTickets(2L)).isEqualTo(3);
+        // Now tied at 3; the next ticket may go to either agent
+        assertThat(router.route(Category.NETWORK)).isIn(1L, 2L);
+    }
+
+    @Test
+    void roundRobinIgnoresLoad() {
+        TicketRouter router = router(TicketRouter.Strategy.ROUND_ROBIN, load(1L, 10));
+
+        List<Long> assigned = List.of(router.route(Category.SOFTWARE), router.route(Category.SOFTWARE),
+                router.route(Category.SOFTWARE), router.route(Category.SOFTWARE));
+
+        assertThat(assigned).containsExactly(1L, 2L, 1L, 2L);
+    }
+
+    @Test
+    void weightedScalesLoadByCapacity() {
+        profiles.add(new AgentProfile(1L, Set.of(), 4, true));
+        TicketRouter weighted = router(TicketRouter.Strategy.WEIGHTED, load(1L, 2));
+        TicketRouter leastLoaded = router(TicketRouter.Strategy.LEAST_LOADED, load(1L, 2));
+
+        // (2 + 1) / 4 beats (0 + 1) / 1, but 3 open tickets lose to none when weights are ignored
+        assertThat(weighted.route(Category.HARDWARE)).isEqualTo(1L);
+        assertThat(leastLoaded.route(Category.HARDWARE)).isEqualTo(2L);
+    }
+
+    @Test
+    void onlyAvailableAgentsWithTheSkillAreEligible() {
+        profiles.add(new AgentProfile(1L, Set.of(Category.HARDWARE), 1, true));
+        profiles.add(new AgentProfile(2L, Set.of(), 1, false));
+        TicketRouter router = router(TicketRouter.Strategy.LEAST_LOADED);
+
+        assertThat(router.route(Category.HARDWARE)).isEqualTo(1L);
+        assertThat(router.route(Category.NETWORK)).isNull();
+        assertThat(router.route(null)).isNull(); // routed as OTHER
+    }
+
+    @Test
+    void statusChangesAndUnrouteMoveTheLoad() {
+        TicketRouter router = router(TicketRouter.Strategy.LEAST_LOADED, load(1L, 1));
+
+        router.statusChanged(1L, Status.IN_PROGRESS, Status.RESOLVED);
+        assertThat(router.openTickets(1L)).isZero();
+        router.statusChanged(1L, Status.RESOLVED, Status.IN_PROGRESS);
+        assertThat(router.openTickets(1L)).isEqualTo(1);
+        router.statusChanged(1L, Status.NEW, Status.IN_PROGRESS);
+        assertThat(router.openTickets(1L)).isEqualTo(1);
+
+        router.unroute(1L);
+        router.unroute(1L);
+        assertThat(router.openTickets(1L)).isZero();
+    }
+
+    @Test
+    void reloadPicksUpProfileChanges() {
+        TicketRouter router = router(TicketRouter.Strategy.LEAST_LOADED);
+        assertThat(router.route(Category.NETWORK)).isNotNull();
+
+        profiles.add(new AgentProfile(1L, Set.of(), 1, false));
+        profiles.add(new AgentProfile(2L, Set.of(), 1, false));
+        router.reloadAgents();
+
+        assertThat(router.route(Category.NETWORK)).isNull();
+    }
+
+    private TicketRouter router(TicketRouter.Strategy strategy, AssigneeLoadView... loads) {
+        when(ticketRepository.countOpenByAssignee(Status.RESOLVED)).thenReturn(List.of(loads));
+        TicketRouter router = new TicketRouter(ticketRepository, userRepository, agentProfileRepository,
+                new SimpleMeterRegistry(), strategy);
+        router.afterSingletonsInstantiated();
+        return router;
+    }
+
+    private static User agent(Long id) {
+        return new User(id, "agent" + id, "agent" + id + "@example.com", "hash", Role.ITSupport);
+    }
+
+    private static AssigneeLoadView load(Long assigneeId, long count) {
+        return new AssigneeLoadView() {
+            @Override
+            public Long getAssigneeId() {
+                return assigneeId;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
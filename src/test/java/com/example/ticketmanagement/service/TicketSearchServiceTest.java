@@ -0,0 +1,103 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.repository.CommentRepository;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.response.TicketSearchHit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketSearchServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private TicketSearchService searchService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchService = new TicketSearchService(ticketRepository, commentRepository, Thread::new,
+                tempDir.resolve("index"), false);
+        lenient().when(commentRepository.findTextAfter(anyLong(), any())).thenReturn(List.of());
+        searchService.indexTicket(ticket(1L, "Printer jammed"));
+        searchService.commit();
+        searchService.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchService.close();
+    }
+
+    @Test
+    void rebuildReplacesTheLiveIndexAndRemovesTheScratchIndex() throws IOException {
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenReturn(List.of(ticket(2L, "Scanner offline")));
+
+        searchService.rebuild();
+
+        assertThat(ids("printer")).isEmpty();
+        assertThat(ids("scanner")).containsExactly(2L);
+        assertThat(tempDir.resolve("index-rebuild")).doesNotExist();
+    }
+
+    @Test
+    void writesMadeDuringTheRebuildSurviveTheSwap() throws IOException {
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            // A ticket created after the rebuild read its page
+            searchService.indexTicket(ticket(3L, "Monitor flickers"));
+            return List.of(ticket(2L, "Scanner offline"));
+        });
+
+        searchService.rebuild();
+
+        assertThat(ids("monitor")).containsExactly(3L);
+        assertThat(ids("scanner")).containsExactly(2L);
+    }
+
+    @Test
+    void failedRebuildLeavesTheLiveIndexSearchable() throws IOException {
+        when(ticketRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        assertThatThrownBy(() -> searchService.rebuild()).isInstanceOf(DataAccessResourceFailureException.class);
+        searchService.commit();
+        searchService.refresh();
+
+        assertThat(ids("printer")).containsExactly(1L);
+    }
+
+    private List<Long> ids(String query) throws IOException {
+        return searchService.search(query, 10, null).stream().map(TicketSearchHit::getTicketId).toList();
+    }
+
+    private static Ticket ticket(Long id, String title) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle(title);
+        return ticket;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The compare-and-set retry loop of single-ticket status updates, with the database replaced by mocks
+@ExtendWith(MockitoExtension.class)
+class TicketServiceStatusUpdateTest {
+
+    private static final Long TICKET_ID = 7L;
+    private static final User AGENT = new User(2L, "agent", "agent@example.com", "hash", Role.ITSupport);
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private TicketStatisticsService ticketStatisticsService;
+
+    @Mock
+    private TicketEventBus ticketEventBus;
+
+    @Mock
+    private SlaEscalationScheduler slaEscalationScheduler;
+
+    @Mock
+    private TicketRouter ticketRouter;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TicketWorkflow ticketWorkflow = new TicketWorkflow(Duration.ofDays(14));
+
+    @InjectMocks
+    private TicketService ticketService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ticketService, "statusUpdateMaxAttempts", 3);
+        ReflectionTestUtils.setField(ticketService, "statusUpdateBackoffMs", 0L);
+        when(userService.findUserById(AGENT.getId())).thenReturn(Optional.of(AGENT));
+    }
+
+    @Test
+    void retriesALostRaceAgainstTheFreshState() {
+        runTransactionCallbacks();
+        // Another agent started work between our read and our write
+        when(ticketRepository.findById(TICKET_ID))
+                .thenReturn(Optional.of(ticket(Status.NEW, 1)))
+                .thenReturn(Optional.of(ticket(Status.IN_PROGRESS, 2)));
+        when(ticketRepository.compareAndSetStatus(eq(TICKET_ID), eq(1L), eq(Status.RESOLVED), any())).thenReturn(0);
+        when(ticketRepository.compareAndSetStatus(eq(TICKET_ID), eq(2L), eq(Status.RESOLVED), any())).thenReturn(1);
+
+        ticketService.updateTicketStatus(TICKET_ID, Status.RESOLVED, AGENT.getId());
+
+        // Audited against the status that was actually replaced, once
+        verify(auditLogService).logStatusChange(TICKET_ID, AGENT, Status.IN_PROGRESS, Status.RESOLVED);
+        verify(outboxService, times(1)).append(any());
+        assertThat(meterRegistry.counter("tickets.status.update.conflicts", "outcome", "retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        runTransactionCallbacks();
+        when(ticketRepository.findById(TICKET_ID)).thenReturn(Optional.of(ticket(Status.NEW, 1)));
+        when(ticketRepository.compareAndSetStatus(eq(TICKET_ID), anyLong(), eq(Status.IN_PROGRESS), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(TICKET_ID, Status.IN_PROGRESS, AGENT.getId()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(ticketRepository, times(3)).compareAndSetStatus(eq(TICKET_ID), anyLong(), eq(Status.IN_PROGRESS), any());
+        verify(auditLogService, never()).logStatusChange(any(), any(), any(), any());
+        verify(outboxService, never()).append(any());
+    }
+
+    @Test
+    void staleExpectedVersionIsAConflictWithoutWriting() {
+        when(ticketRepository.findById(TICKET_ID)).thenReturn(Optional.of(ticket(Status.NEW, 5)));
+
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(TICKET_ID, Status.IN_PROGRESS, 4L, AGENT.getId()))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining("version 5, not 4");
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void lostRaceWithExpectedVersionIsNotRetried() {
+        runTransactionCallbacks();
+        when(ticketRepository.findById(TICKET_ID)).thenReturn(Optional.of(ticket(Status.NEW, 5)));
+        when(ticketRepository.compareAndSetStatus(eq(TICKET_ID), eq(5L), eq(Status.IN_PROGRESS), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(TICKET_ID, Status.IN_PROGRESS, 5L, AGENT.getId()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(ticketRepository, times(1)).compareAndSetStatus(eq(TICKET_ID), anyLong(), any(), any());
+    }
+
+    @Test
+    void disallowedTransitionIsRejectedBeforeWriting() {
+        Ticket resolved = ticket(Status.RESOLVED, 1);
+        resolved.setResolvedAt(LocalDateTime.now().minusDays(30));
+        when(ticketRepository.findById(TICKET_ID)).thenReturn(Optional.of(resolved));
+
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(TICKET_ID, Status.IN_PROGRESS, AGENT.getId()))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static Ticket ticket(Status status, long version) {
+        Ticket ticket = new Ticket();
+        ticket.setId(TICKET_ID);
+        ticket.setPriority(Priority.HIGH);
+        ticket.setStatus(status);
+        ticket.setStatusChangedAt(LocalDateTime.now().minusMinutes(5));
+        ticket.setVersion(version);
+        return ticket;
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.AuditEventType;
+import com.example.ticketmanagement.model.AuditLog;
+import com.example.ticketmanagement.model.Category;
+import com.example.ticketmanagement.model.Priority;
+import com.example.ticketmanagement.model.Role;
+import com.example.ticketmanagement.model.Status;
+import com.example.ticketmanagement.model.Ticket;
+import com.example.ticketmanagement.model.User;
+import com.example.ticketmanagement.repository.AuditLogRepository;
+import com.example.ticketmanagement.repository.TicketRepository;
+import com.example.ticketmanagement.repository.UserRepository;
+import com.example.ticketmanagement.request.BulkStatusUpdateRequest;
+import com.example.ticketmanagement.request.TicketRequest;
+import com.example.ticketmanagement.request.TicketSearchCriteria;
+import com.example.ticketmanagement.response.BulkCreateResult;
+import com.example.ticketmanagement.response.BulkStatusUpdateResult;
+import com.example.ticketmanagement.response.BulkStatusUpdateResult.Outcome;
+import com.example.ticketmanagement.response.BulkStatusUpdateResult.TicketOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Runs against the in-memory H2 database from application-test.properties. The database is shared by every
+// test in the run, so each test works with its own users and only looks at the tickets it created.
+@SpringBootTest
+@ActiveProfiles("test")
+class TicketServiceTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private User employee;
+    private User agent;
+
+    @BeforeEach
+    void setUp() {
+        employee = newUser(Role.Employee);
+        agent = newUser(Role.ITSupport);
+    }
+
+    @Test
+    void keysetPagesWalkTheTicketsInIdOrder() {
+        List<Long> ids = createTickets(Priority.LOW, Priority.HIGH, Priority.MEDIUM, Priority.HIGH, Priority.LOW);
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setCreatedBy(employee.getId());
+
+        List<Long> seen = new ArrayList<>();
+        Long after = null;
+        List<Ticket> page;
+        do {
+            page = ticketService.getTickets(criteria, after, null, 2, Sort.unsorted());
+            page.forEach(ticket -> seen.add(ticket.getId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == 2);
+
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void allTicketsPagesSeekPastTheCursor() {
+        List<Long> ids = createTickets(Priority.LOW, Priority.MEDIUM, Priority.HIGH);
+
+        List<Ticket> first = ticketService.getAllTickets(agent.getId(), null, ids.get(0) - 1, 2);
+        List<Ticket> second = ticketService.getAllTickets(agent.getId(), null, first.get(1).getId(), 2);
+
+        assertThat(first).extracting(Ticket::getId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(second).extracting(Ticket::getId).containsExactly(ids.get(2));
+    }
+
+    @Test
+    void deltaPagesPickUpATicketChangedBetweenPages() {
+        LocalDateTime start = LocalDateTime.now();
+        List<Long> ids = createTickets(Priority.LOW, Priority.MEDIUM, Priority.HIGH);
+
+        List<Ticket> first = ticketService.getAllTickets(agent.getId(), start, null, 2);
+        // The lowest id changes after the client has already seen it on the first page
+        ticketService.updateTicketStatus(ids.get(0), Status.IN_PROGRESS, agent.getId());
+        Ticket last = first.get(1);
+        List<Ticket> second = ticketService.getAllTickets(agent.getId(), last.getLastModified(), last.getId(), 2);
+
+        assertThat(first).extracting(Ticket::getId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(second).extracting(Ticket::getId, Ticket::getStatus).containsExactly(
+                tuple(ids.get(2), Status.NEW),
+                tuple(ids.get(0), Status.IN_PROGRESS));
+    }
+
+    @Test
+    void sortedPagesRankPrioritiesAndBreakTiesById() {
+        List<Long> ids = createTickets(Priority.LOW, Priority.HIGH, Priority.MEDIUM, Priority.HIGH);
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setCreatedBy(employee.getId());
+        Sort byPriority = Sort.by(Sort.Direction.DESC, "priority");
+
+        List<Ticket> first = ticketService.getTickets(criteria, null, 0, 3, byPriority);
+        List<Ticket> second = ticketService.getTickets(criteria, null, 1, 3, byPriority);
+
+        assertThat(first).extracting(Ticket::getId).containsExactly(ids.get(1), ids.get(3), ids.get(2));
+        assertThat(second).extracting(Ticket::getId).containsExactly(ids.get(0));
+    }
+
+    @Test
+    void criteriaCombineAndMultiValuedFiltersMatchAnyValue() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 0, 0);
+        Long match = createTicket(Priority.HIGH, Category.NETWORK, day.plusHours(9));
+        Long otherPriority = createTicket(Priority.MEDIUM, Category.SOFTWARE, day.plusHours(10));
+        createTicket(Priority.LOW, Category.NETWORK, day.plusHours(11)); // priority not asked for
+        createTicket(Priority.HIGH, Category.HARDWARE, day.plusHours(12)); // category not asked for
+        createTicket(Priority.HIGH, Category.NETWORK, day.plusDays(1)); // past createdTo
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setCreatedBy(employee.getId());
+        criteria.setPriority(List.of(Priority.HIGH, Priority.MEDIUM));
+        criteria.setCategory(List.of(Category.NETWORK, Category.SOFTWARE));
+        criteria.setStatus(List.of(Status.NEW));
+        criteria.setCreatedFrom(day);
+        criteria.setCreatedTo(day.plusDays(1));
+
+        List<Ticket> found = ticketService.getTickets(criteria, null, null, 10, Sort.unsorted());
+
+        assertThat(found).extracting(Ticket::getId).containsExactly(match, otherPriority);
+    }
+
+    @Test
+    void secondWriterWithTheSameExpectedVersionConflicts() {
+        Long id = createTicket(Status.NEW, LocalDateTime.now());
+        long seen = ticket(id).getVersion();
+
+        Ticket updated = ticketService.updateTicketStatus(id, Status.IN_PROGRESS, seen, agent.getId());
+
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(id, Status.RESOLVED, seen, agent.getId()))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(updated.getVersion()).isEqualTo(seen + 1);
+        assertThat(ticket(id)).extracting(Ticket::getStatus, Ticket::getVersion)
+                .containsExactly(Status.IN_PROGRESS, seen + 1);
+        assertThat(auditLogRepository.findByTicketId(id))
+                .filteredOn(entry -> entry.getEventType() == AuditEventType.STATUS_CHANGED)
+                .extracting(AuditLog::getNewStatus)
+                .containsExactly(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void reopeningClearsResolvedAtAndKeepsTheFirstStartOfWork() {
+        Long id = createTicket(Status.NEW, LocalDateTime.now());
+        ticketService.updateTicketStatus(id, Status.IN_PROGRESS, agent.getId());
+        LocalDateTime firstStart = ticket(id).getInProgressAt();
+        ticketService.updateTicketStatus(id, Status.RESOLVED, agent.getId());
+        assertThat(ticket(id).getResolvedAt()).isNotNull();
+
+        ticketService.updateTicketStatus(id, Status.IN_PROGRESS, agent.getId());
+
+        assertThat(ticket(id)).extracting(Ticket::getStatus, Ticket::getResolvedAt, Ticket::getInProgressAt)
+                .containsExactly(Status.IN_PROGRESS, null, firstStart);
+        // Not in the transition table at all, unlike the guarded reopen
+        ticketService.updateTicketStatus(id, Status.RESOLVED, agent.getId());
+        assertThatThrownBy(() -> ticketService.updateTicketStatus(id, Status.NEW, agent.getId()))
+                .isInstanceOf(InvalidStatusTransitionException.class);
+    }
+
+    @Test
+    void assignedQueueHoldsTheAgentsOpenTickets() {
+        Long open = assignTo(agent, createTicket(Status.NEW, LocalDateTime.now()));
+        Long done = assignTo(agent, createTicket(Status.NEW, LocalDateTime.now()));
+        assignTo(newUser(Role.ITSupport), createTicket(Status.NEW, LocalDateTime.now()));
+        ticketService.updateTicketStatus(done, Status.RESOLVED, agent.getId());
+
+        assertThat(ticketService.getAssignedTickets(agent.getId(), null, null, 10))
+                .extracting(Ticket::getId).containsExactly(open);
+        assertThat(ticketService.getAssignedTickets(agent.getId(), List.of(Status.RESOLVED), null, 10))
+                .extracting(Ticket::getId).containsExactly(done);
+    }
+
+    @Test
+    void bulkUpdateReportsAnOutcomePerTicket() {
+        Long fresh = createTicket(Status.NEW, LocalDateTime.now());
+        Long started = createTicket(Status.IN_PROGRESS, LocalDateTime.now());
+        Long longResolved = createTicket(Status.RESOLVED, LocalDateTime.now().minusDays(30));
+        Long missing = Long.MAX_VALUE;
+
+        BulkStatusUpdateResult result = ticketService.updateTicketStatuses(
+                new BulkStatusUpdateRequest(List.of(fresh, started, longResolved, missing), null, null, Status.IN_PROGRESS),
+                agent.getId());
+
+        assertThat(result.getResults()).extracting(TicketOutcome::getTicketId, TicketOutcome::getOutcome).containsExactly(
+                tuple(fresh, Outcome.UPDATED),
+                tuple(started, Outcome.UNCHANGED),
+                tuple(longResolved, Outcome.REJECTED),
+                tuple(missing, Outcome.NOT_FOUND));
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(ticket(fresh).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void bulkUpdateOnlyMovesTicketsInTheCurrentStatus() {
+        Long fresh = createTicket(Status.NEW, LocalDateTime.now());
+        Long resolved = createTicket(Status.RESOLVED, LocalDateTime.now());
+
+        BulkStatusUpdateResult result = ticketService.updateTicketStatuses(
+                new BulkStatusUpdateRequest(List.of(fresh, resolved), Status.NEW, null, Status.IN_PROGRESS),
+                agent.getId());
+
+        assertThat(result.getResults()).extracting(TicketOutcome::getOutcome)
+                .containsExactly(Outcome.UPDATED, Outcome.CONFLICT);
+    }
+
+    @Test
+    void importReportsRowErrorsAndKeepsTheValidRows() throws IOException {
+        String ndjson = """
+                {"title":"VPN down","priority":"HIGH","category":"NETWORK"}
+                {"priority":"LOW","category":"OTHER"}
+
+                {"title":"broken
+                {"title":"Printer jam","priority":"LOW","category":"HARDWARE"}
+                {"title":"No category","priority":"LOW"}
+                """;
+
+        BulkCreateResult result = ticketService.importTickets(new BufferedReader(new StringReader(ndjson)), employee.getId());
+
+        assertThat(result.getCreated()).extracting(BulkCreateResult.CreatedTicket::getRow).containsExactly(0, 3);
+        assertThat(result.getErrors()).extracting(BulkCreateResult.RowError::getRow).containsExactly(1, 2, 4);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Title is required");
+        assertThat(result.getErrors().get(1).getMessage()).startsWith("Malformed JSON");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("Category is required");
+    }
+
+    @Test
+    void bulkCreateRejectsMissingRows() {
+        BulkCreateResult result = ticketService.createTickets(
+                Arrays.asList(request(Priority.LOW), null, request(null)), employee.getId());
+
+        assertThat(result.getCreated()).extracting(BulkCreateResult.CreatedTicket::getRow).containsExactly(0);
+        assertThat(result.getErrors()).extracting(BulkCreateResult.RowError::getMessage)
+                .containsExactly("Ticket is required", "Priority is required");
+    }
+
+    private List<Long> createTickets(Priority... priorities) {
+        List<Long> ids = new ArrayList<>();
+        for (Priority priority : priorities) {
+            ids.add(ticketService.createTicket(request(priority), employee.getId()).getId());
+        }
+        return ids;
+    }
+
+    private Long createTicket(Priority priority, Category category, LocalDateTime creationDate) {
+        TicketRequest request = request(priority);
+        request.setCategory(category);
+        request.setCreationDate(creationDate);
+        return ticketService.createTicket(request, employee.getId()).getId();
+    }
+
+    private Long createTicket(Status status, LocalDateTime creationDate) {
+        TicketRequest request = request(Priority.MEDIUM);
+        request.setStatus(status);
+        request.setCreationDate(creationDate);
+        return ticketService.createTicket(request, employee.getId()).getId();
+    }
+
+    private static TicketRequest request(Priority priority) {
+        TicketRequest request = new TicketRequest();
+        request.setTitle("Laptop won't boot");
+        request.setPriority(priority);
+        request.setCategory(Category.HARDWARE);
+        return request;
+    }
+
+    // Routing picks from every agent in the shared database, so tests set the assignee directly
+    private Long assignTo(User assignee, Long id) {
+        Ticket ticket = ticketRepository.findById(id).orElseThrow();
+        ticket.setAssignedTo(assignee);
+        return ticketRepository.save(ticket).getId();
+    }
+
+    private Ticket ticket(Long id) {
+        return ticketService.getTickets(criteria(id), null, null, 1, Sort.unsorted()).get(0);
+    }
+
+    private static TicketSearchCriteria criteria(Long ticketId) {
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setTicketId(ticketId);
+        return criteria;
+    }
+
+    private User newUser(Role role) {
+        String name = role + "-" + UUID.randomUUID();
+        return userRepository.save(new User(null, name, name + "@example.com", "hash", role));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ticketmanagement.service;
+
+import com.example.ticketmanagement.model.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TicketWorkflowTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 15, 12, 0);
+
+    private final TicketWorkflow workflow = new TicketWorkflow(Duration.ofDays(14));
+
+    @Test
+    void reopensWithinTheWindow() {
+        assertThat(workflow.isAllowed(Status.RESOLVED, Status.IN_PROGRESS, NOW.minusDays(14), NOW)).isTrue();
+        assertThat(workflow.isAllowed(Status.RESOLVED, Status.IN_PROGRESS, null, NOW)).isTrue();
+    }
+
+    @Test
+    void refusesToReopenAfterTheWindow() {
+        assertThat(workflow.isAllowed(Status.RESOLVED, Status.IN_PROGRESS, NOW.minusDays(14).minusSeconds(1), NOW)).isFalse();
+    }
+
+    @Test
+    void unguardedTransitionsIgnoreResolvedAt() {
+        assertThat(workflow.isAllowed(Status.NEW, Status.RESOLVED, NOW.minusYears(1), NOW)).isTrue();
+        assertThat(workflow.isAllowed(Status.RESOLVED, Status.NEW, null, NOW)).isFalse();
+    }
+
+    @Test
+    void legacyRowsWithoutStatusMayMoveAnywhere() {
+        for (Status status : Status.values()) {
+            assertThat(workflow.isAllowed(null, status, null, NOW)).isTrue();
+        }
+    }
+
+    @Test
+    void checkTransitionThrowsForDisallowedChanges() {
+        assertThatThrownBy(() -> workflow.checkTransition(Status.RESOLVED, Status.NEW, null, NOW))
+                .isInstanceOf(InvalidStatusTransitionException.class)
+                .hasMessage("Cannot change ticket status from RESOLVED to NEW");
+    }
+}